@@ -0,0 +1,122 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.specification.Specification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+
+/**
+ * JMH harness for every {@link Result} chain operation.
+ *
+ * Each operation is measured on the all-pass path and on the failing path, selected with the {@code path} parameter.
+ *
+ * @author Tristan Diaz
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    @Param({"pass", "fail"})
+    private String path;
+
+    private boolean satisfied;
+
+    private DomainEntity entity;
+
+    private Result<DomainEntity> child1;
+
+    private Result<DomainEntity> child2;
+
+
+
+    @Setup
+    public void setUp() {
+        this.satisfied = "pass".equals(path);
+        this.entity = new DomainEntity("value");
+
+        this.child1 = Result.resultFor(DomainEntity.class)
+                .validateAll(validate(() -> satisfied, "child1 failed", entity.name));
+
+        this.child2 = Result.resultFor(DomainEntity.class)
+                .validateAll(validate(() -> satisfied, "child2 failed", entity.name));
+    }
+
+
+
+    @Benchmark
+    public Result<DomainEntity> ensure() {
+        return Result.resultFor(DomainEntity.class)
+                .ensure(() -> satisfied, "ensure failed", entity.name);
+    }
+
+
+
+    @Benchmark
+    public Result<DomainEntity> validateAll() {
+        return Result.resultFor(DomainEntity.class)
+                .validateAll(
+                        validate(() -> satisfied, "validation1 failed", entity.name),
+                        validate(() -> satisfied, "validation2 failed", entity.name),
+                        validate(() -> satisfied, "validation3 failed", entity.name));
+    }
+
+
+
+    @Benchmark
+    public Result<DomainEntity> combine() {
+        return Result.resultFor(DomainEntity.class)
+                .combine(child1, child2);
+    }
+
+
+
+    @Benchmark
+    public Result<DomainEntity> onSuccess() {
+        Specification specification = () -> satisfied;
+
+        return Result.resultFor(DomainEntity.class)
+                .ensure(specification, "ensure failed")
+                .onSuccess(() -> entity);
+    }
+
+
+
+    @Benchmark
+    public Result<DomainEntity> chain() {
+        return Result.resultFor(DomainEntity.class)
+                .combine(child1, child2)
+                .ensure(() -> satisfied, "ensure failed", entity.name)
+                .validateAll(
+                        validate(() -> satisfied, "validation1 failed", entity.name),
+                        validate(() -> satisfied, "validation2 failed", entity.name),
+                        validate(() -> satisfied, "validation3 failed", entity.name))
+                .onSuccess(() -> entity);
+    }
+
+
+
+    static class DomainEntity {
+
+        private final String name;
+
+        DomainEntity(String name) {
+            this.name = name;
+        }
+    }
+}
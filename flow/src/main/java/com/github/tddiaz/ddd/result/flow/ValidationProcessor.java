@@ -0,0 +1,333 @@
+package com.github.tddiaz.ddd.result.flow;
+
+import com.github.tddiaz.ddd.result.AsyncResult;
+import com.github.tddiaz.ddd.result.Result;
+import com.github.tddiaz.ddd.result.Validator;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Reactive pipeline stage validating every published domain object.
+ *
+ * Honours downstream demand: never requests more elements from upstream than downstream requested,
+ * and never has more than {@code maxConcurrency} validations in flight. Results are published in the order
+ * the domain objects were received.
+ *
+ * Requires Java 9 or later; shipped in the separate {@code result-specification-ddd-flow} artifact,
+ * so the library itself keeps its Java 8 baseline.
+ *
+ * @param <T> domain object type
+ * @author Tristan Diaz
+ */
+public final class ValidationProcessor<T> implements Flow.Processor<T, Result<T>> {
+
+    /**
+     * starts validation of a single domain object
+     */
+    private final Function<? super T, ? extends CompletionStage<Result<T>>> validation;
+
+    /**
+     * maximum number of validations in flight
+     */
+    private final int maxConcurrency;
+
+    /**
+     * pending validations in the order domain objects were received
+     */
+    private final Queue<CompletableFuture<Result<T>>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * total number of results requested by downstream
+     */
+    private final AtomicLong requested = new AtomicLong();
+
+    /**
+     * serializes {@link #drain()}
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super Result<T>> downstream;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    /**
+     * drain state; only accessed by the thread holding {@link #wip}
+     */
+    private long emitted;
+    private long requestedUpstream;
+    private boolean terminated;
+
+
+
+    /**
+     * private constructor; accepts validation function and bound
+     *
+     * @param validation starts validation of a single domain object
+     * @param maxConcurrency maximum number of validations in flight
+     */
+    private ValidationProcessor(Function<? super T, ? extends CompletionStage<Result<T>>> validation, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+
+        this.validation = Objects.requireNonNull(validation, "validation");
+        this.maxConcurrency = maxConcurrency;
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns processor validating domain objects one at a time on the publishing thread
+     *
+     * @param validator compiled rule set
+     * @param <T> domain object type
+     * @return ValidationProcessor instance
+     */
+    public static <T> ValidationProcessor<T> of(Validator<T> validator) {
+        return new ValidationProcessor<>(candidate -> CompletableFuture.completedFuture(validator.apply(candidate)), 1);
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns processor validating up to {@code maxConcurrency} domain objects at a time on the given executor
+     *
+     * @param validator compiled rule set
+     * @param executor executor running the validations
+     * @param maxConcurrency maximum number of validations in flight
+     * @param <T> domain object type
+     * @return ValidationProcessor instance
+     */
+    public static <T> ValidationProcessor<T> of(Validator<T> validator, Executor executor, int maxConcurrency) {
+        return new ValidationProcessor<>(candidate -> CompletableFuture.supplyAsync(() -> validator.apply(candidate), executor), maxConcurrency);
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns processor running asynchronous validations, e.g. {@link AsyncResult} chains, up to {@code maxConcurrency} at a time
+     *
+     * @param validation starts validation of a single domain object
+     * @param maxConcurrency maximum number of validations in flight
+     * @param <T> domain object type
+     * @return ValidationProcessor instance
+     */
+    public static <T> ValidationProcessor<T> async(Function<? super T, ? extends CompletionStage<Result<T>>> validation, int maxConcurrency) {
+        return new ValidationProcessor<>(validation, maxConcurrency);
+    }
+
+
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result<T>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        synchronized (this) {
+            if (downstream == null) {
+                downstream = subscriber;
+                subscriber.onSubscribe(new Downstream());
+                drain();
+                return;
+            }
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("ValidationProcessor supports a single subscriber"));
+    }
+
+
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+
+        upstream = subscription;
+        drain();
+    }
+
+
+
+    @Override
+    public void onNext(T item) {
+        CompletableFuture<Result<T>> result;
+        try {
+            result = validation.apply(item).toCompletableFuture();
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+
+        pending.offer(result);
+        result.whenComplete((value, e) -> drain());
+    }
+
+
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = Objects.requireNonNull(throwable, "throwable");
+        done = true;
+        drain();
+    }
+
+
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+
+
+    /**
+     * Helper method to publish completed validations in order and to request more domain objects from upstream;
+     * only one thread drains at a time.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        for (;;) {
+            Flow.Subscriber<? super Result<T>> subscriber = downstream;
+            Flow.Subscription subscription = upstream;
+
+            if (subscriber != null && subscription != null && !terminated) {
+                if (error != null) {
+                    terminate(subscriber, error);
+                } else if (cancelled) {
+                    pending.clear();
+                    terminated = true;
+                } else {
+                    drain(subscriber, subscription);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+
+
+    private void drain(Flow.Subscriber<? super Result<T>> subscriber, Flow.Subscription subscription) {
+
+        long demand = requested.get();
+
+        while (emitted != demand && !cancelled) {
+            CompletableFuture<Result<T>> head = pending.peek();
+            if (head == null || !head.isDone()) {
+                break;
+            }
+
+            pending.poll();
+
+            Result<T> result;
+            try {
+                result = head.join();
+            } catch (CompletionException e) {
+                subscription.cancel();
+                terminate(subscriber, e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+
+            subscriber.onNext(result);
+            emitted++;
+        }
+
+        if (done && pending.isEmpty()) {
+            terminated = true;
+            subscriber.onComplete();
+            return;
+        }
+
+        long target = emitted + Math.min(maxConcurrency, demand - emitted);
+        if (!done && !cancelled && target > requestedUpstream) {
+            long n = target - requestedUpstream;
+            requestedUpstream = target;
+            subscription.request(n);
+        }
+    }
+
+
+
+    private void terminate(Flow.Subscriber<? super Result<T>> subscriber, Throwable throwable) {
+        pending.clear();
+        terminated = true;
+        subscriber.onError(throwable);
+    }
+
+
+
+    /**
+     * Subscription given to the downstream subscriber
+     */
+    private final class Downstream implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive request: " + n);
+
+                Flow.Subscription subscription = upstream;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+
+                drain();
+                return;
+            }
+
+            requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+
+            drain();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.tddiaz.ddd.result.flow;
+
+import com.github.tddiaz.ddd.result.Result;
+import com.github.tddiaz.ddd.result.Validator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationProcessorTest {
+
+    private static final Validator<Integer> POSITIVE = Validator.builder(Integer.class)
+            .validate(candidate -> candidate > 0, "not positive", candidate -> candidate)
+            .build();
+
+    @Test
+    public void givenPublishedCandidates_whenValidated_shouldPublishResultsInOrder() throws InterruptedException {
+        ValidationProcessor<Integer> processor = ValidationProcessor.of(POSITIVE);
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        publish(processor, 1, -2, 3);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertThat(subscriber.results, hasSize(3));
+        assertThat(subscriber.results.get(0).get(), is(1));
+        assertThat(subscriber.results.get(1).getErrors().get(0).getActualValue(), is(-2));
+        assertThat(subscriber.results.get(2).get(), is(3));
+    }
+
+    @Test
+    public void givenLimitedDemand_whenValidated_shouldNotRequestMoreThanDemandFromUpstream() {
+        ValidationProcessor<Integer> processor = ValidationProcessor.of(POSITIVE, Runnable::run, 8);
+        TestSubscriber subscriber = new TestSubscriber(2);
+        processor.subscribe(subscriber);
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+
+        assertThat(upstream.requested.get(), is(2));
+
+        processor.onNext(1);
+        processor.onNext(2);
+
+        assertThat(subscriber.results, hasSize(2));
+        assertThat(upstream.requested.get(), is(2));
+
+        subscriber.subscription.request(1);
+
+        assertThat(upstream.requested.get(), is(3));
+    }
+
+    @Test
+    public void givenAsyncValidations_whenValidated_shouldBoundConcurrencyAndKeepOrder() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ValidationProcessor<Integer> processor = ValidationProcessor.async(candidate -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                sleep(10 - candidate);
+                inFlight.decrementAndGet();
+                return POSITIVE.apply(candidate);
+            });
+        }, 3);
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        publish(processor, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(3));
+        assertThat(subscriber.results.stream().map(Result::get).collect(Collectors.toList()),
+                contains(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+
+    private static void publish(ValidationProcessor<Integer> processor, Integer... items) {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+        for (Integer item : items) {
+            publisher.submit(item);
+        }
+        publisher.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class TestSubscription implements Flow.Subscription {
+
+        private final AtomicInteger requested = new AtomicInteger();
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet((int) n);
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<Result<Integer>> {
+
+        private final long initialDemand;
+        private final List<Result<Integer>> results = new ArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+
+        private TestSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(Result<Integer> item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
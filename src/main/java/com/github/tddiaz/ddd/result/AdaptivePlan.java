@@ -0,0 +1,181 @@
+package com.github.tddiaz.ddd.result;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluation order of fail-fast rules, re-planned at runtime from sampled failure rate and latency.
+ *
+ * A sample of validations records whether each evaluated rule failed and how long it took. Every
+ * {@code replanEvery} samples the rules are re-ordered by expected latency per failure, ascending, so the rule
+ * most likely to short-circuit the chain for the least time runs first. Statistics are smoothed with an exponential
+ * moving average over re-planning windows, so the plan follows traffic mix changes without flapping.
+ *
+ * Thread-safe; unsampled validations only pay a random draw and a volatile read.
+ *
+ * @author Tristan Diaz
+ */
+final class AdaptivePlan {
+
+    /**
+     * weight of the latest window in the moving averages
+     */
+    private static final double SMOOTHING = 0.5;
+
+    /**
+     * failure rate assumed for rules that never failed; keeps their score finite
+     */
+    private static final double MIN_FAILURE_RATE = 1e-6;
+
+    private final int sampleEvery;
+    private final int replanEvery;
+
+    /**
+     * per rule, in declaration order; current window
+     */
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray nanos;
+
+    /**
+     * per rule, in declaration order; moving averages, only accessed while {@link #replanning}
+     */
+    private final double[] failureRate;
+    private final double[] latency;
+    private final boolean[] observed;
+
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicBoolean replanning = new AtomicBoolean();
+
+    /**
+     * declaration indexes of the rules in evaluation order
+     */
+    private volatile int[] order;
+
+
+
+    /**
+     * @param initialOrder declaration indexes in initial evaluation order, e.g. cost order
+     * @param sampleEvery one of every {@code sampleEvery} validations is sampled on average
+     * @param replanEvery number of samples between re-plans
+     */
+    AdaptivePlan(int[] initialOrder, int sampleEvery, int replanEvery) {
+        if (sampleEvery < 1 || replanEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery and replanEvery must be positive");
+        }
+
+        int size = initialOrder.length;
+
+        this.sampleEvery = sampleEvery;
+        this.replanEvery = replanEvery;
+        this.order = initialOrder.clone();
+        this.evaluations = new AtomicLongArray(size);
+        this.failures = new AtomicLongArray(size);
+        this.nanos = new AtomicLongArray(size);
+        this.failureRate = new double[size];
+        this.latency = new double[size];
+        this.observed = new boolean[size];
+    }
+
+
+
+    /**
+     * @return declaration indexes of the rules in current evaluation order; must not be modified
+     */
+    int[] order() {
+        return order;
+    }
+
+
+
+    /**
+     * @return {@literal true} if the current validation should be sampled
+     */
+    boolean sample() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+
+
+    /**
+     * Records one evaluation of a sampled validation
+     *
+     * @param rule declaration index of the rule
+     * @param failed {@literal true} if the rule failed
+     * @param elapsedNanos evaluation time
+     */
+    void record(int rule, boolean failed, long elapsedNanos) {
+        evaluations.incrementAndGet(rule);
+        nanos.addAndGet(rule, elapsedNanos);
+        if (failed) {
+            failures.incrementAndGet(rule);
+        }
+    }
+
+
+
+    /**
+     * Completes a sampled validation; re-plans once enough samples were taken.
+     */
+    void sampled() {
+        if (samples.incrementAndGet() % replanEvery == 0 && replanning.compareAndSet(false, true)) {
+            try {
+                replan();
+            } finally {
+                replanning.set(false);
+            }
+        }
+    }
+
+
+
+    /**
+     * Orders observed rules by measured latency per failure; rules never sampled have no measurement comparable
+     * to it, so they follow in their previous order.
+     */
+    private void replan() {
+        int size = failureRate.length;
+        double[] score = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            long evaluated = evaluations.getAndSet(i, 0);
+            long failed = failures.getAndSet(i, 0);
+            long elapsed = nanos.getAndSet(i, 0);
+
+            if (evaluated > 0) {
+                failureRate[i] = smooth(i, failureRate[i], (double) failed / evaluated);
+                latency[i] = smooth(i, latency[i], (double) elapsed / evaluated);
+                observed[i] = true;
+            }
+
+            score[i] = latency[i] / Math.max(failureRate[i], MIN_FAILURE_RATE);
+        }
+
+        int[] previous = order;
+        int[] position = new int[size];
+        for (int i = 0; i < size; i++) {
+            position[previous[i]] = i;
+        }
+
+        order = IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.<Integer, Boolean>comparing(rule -> !observed[rule])
+                        .thenComparingDouble(rule -> observed[rule] ? score[rule] : 0)
+                        .thenComparingInt(rule -> position[rule]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+
+
+    /**
+     * @return latest window's value for a rule observed for the first time, otherwise the updated moving average
+     */
+    private double smooth(int rule, double average, double latest) {
+        return observed[rule] ? SMOOTHING * latest + (1 - SMOOTHING) * average : latest;
+    }
+}
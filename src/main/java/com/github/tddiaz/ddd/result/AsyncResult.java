@@ -0,0 +1,218 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import com.github.tddiaz.ddd.specification.AsyncSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous counterpart of {@link Result}; specifications return a {@link CompletionStage}
+ * and the chain never blocks a thread.
+ *
+ * Every step runs once the previous step completed and collects errors the same way {@link Result} does.
+ *
+ * <pre>
+ *     AsyncResult.resultFor(DomainEntity.class)
+ *             .ensureAsync(() -&gt; repository.existsAsync(id), "entity not found", id)
+ *             .validateAllAsync(
+ *                     validateAsync(() -&gt; repository.isUniqueAsync(name), "name already exists", name))
+ *             .onSuccessAsync(() -&gt; CompletableFuture.completedFuture(new DomainEntity(id, name)))
+ *             .toCompletionStage();
+ * </pre>
+ *
+ * @author Tristan Diaz
+ */
+public final class AsyncResult<T> {
+
+    /**
+     * pending Result; completes once every chained step completed
+     */
+    private final CompletableFuture<Result<T>> pending;
+
+
+
+    /**
+     * private constructor; accepts pending result
+     *
+     * @param pending pending result
+     */
+    private AsyncResult(CompletableFuture<Result<T>> pending) {
+        this.pending = pending;
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns AsyncResult instance with given class type of domain object
+     *
+     * @param _class class type of domain object.
+     * @param <T> domain object type
+     * @return AsyncResult instance
+     */
+    public static <T> AsyncResult<T> resultFor(Class<T> _class) {
+        return new AsyncResult<>(CompletableFuture.completedFuture(Result.resultFor(_class)));
+    }
+
+
+
+    /**
+     * @see #ensureAsync(AsyncSpecification, String, Object)
+     */
+    public AsyncResult<T> ensureAsync(AsyncSpecification specification, String message) {
+        return ensureAsync(specification, message, null);
+    }
+
+
+
+    /**
+     * ensures specification is satisfied before processing further validations.
+     *
+     * @param specification domain specification that needs to be satisfy
+     * @param message error message
+     * @param actualValue actual value being validated
+     *
+     * @return AsyncResult
+     * @see Result#ensure(com.github.tddiaz.ddd.specification.Specification, String, Object)
+     */
+    public AsyncResult<T> ensureAsync(AsyncSpecification specification, String message, Object actualValue) {
+        return new AsyncResult<>(pending.thenCompose(result -> {
+
+            if (result.hasErrors()) {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            return specification.isSatisfiedAsync().thenApply(satisfied -> satisfied
+                    ? result
+                    : result.ensureFailed(new ErrorMessage(message, actualValue)));
+        }));
+    }
+
+
+
+    /**
+     * Processes every specifications validation; specifications are started together
+     * and errors are added in declaration order once every one of them completed.
+     *
+     * @param validations array of validations
+     *
+     * @return AsyncResult
+     * @see Result#validateAll(Result.Validation...)
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncResult<T> validateAllAsync(AsyncValidation... validations) {
+        return new AsyncResult<>(pending.thenCompose(result -> {
+
+            if (result.isEnsureFailed()) {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            CompletableFuture<Boolean>[] outcomes = new CompletableFuture[validations.length];
+            for (int i = 0; i < validations.length; i++) {
+                outcomes[i] = validations[i].specification.isSatisfiedAsync().toCompletableFuture();
+            }
+
+            return CompletableFuture.allOf(outcomes).thenApply(done -> {
+                Errors errors = result.errors();
+                for (int i = 0; i < validations.length; i++) {
+                    if (!outcomes[i].join()) {
+                        errors = Errors.append(errors, validations[i].errorMessage());
+                    }
+                }
+                return result.withErrors(errors);
+            });
+        }));
+    }
+
+
+
+    /**
+     * Combines Results from different entities or value objects once every one of them completed
+     *
+     * @param results array of async results
+     *
+     * @return AsyncResult
+     * @see Result#combine(Result...)
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncResult<T> combineAsync(AsyncResult<?>... results) {
+        CompletableFuture<? extends Result<?>>[] others = new CompletableFuture[results.length];
+        for (int i = 0; i < results.length; i++) {
+            others[i] = results[i].pending;
+        }
+
+        return new AsyncResult<>(pending.thenCombine(CompletableFuture.allOf(others), (result, done) -> {
+            Errors errors = result.errors();
+            for (CompletableFuture<? extends Result<?>> other : others) {
+                errors = Errors.concat(errors, other.join().errors());
+            }
+            return result.withErrors(errors);
+        }));
+    }
+
+
+
+    /**
+     * Accepts domain entity or value object instance upon success
+     *
+     * @param t supplier of pending domain object; only called when there are no errors
+     * @return AsyncResult
+     * @see Result#onSuccess(Supplier)
+     */
+    public AsyncResult<T> onSuccessAsync(Supplier<? extends CompletionStage<T>> t) {
+        return new AsyncResult<>(pending.thenCompose(result -> {
+
+            if (result.hasErrors()) {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            return t.get().thenApply(value -> result.onSuccess(() -> value));
+        }));
+    }
+
+
+
+    /**
+     * returns pending Result; completes exceptionally if any specification or supplier failed
+     *
+     * @return pending Result
+     */
+    public CompletionStage<Result<T>> toCompletionStage() {
+        return pending;
+    }
+
+
+
+    /**
+     * Wrapper class for async specification and error messages.
+     *
+     * {@link ErrorMessage} is only created once the specification failed.
+     */
+    public static class AsyncValidation {
+
+        private final AsyncSpecification specification;
+        private final String message;
+        private final Object actualValue;
+
+        private AsyncValidation(AsyncSpecification specification, String message, Object actualValue) {
+            this.specification = specification;
+            this.message = message;
+            this.actualValue = actualValue;
+        }
+
+        public static AsyncValidation validateAsync(AsyncSpecification specification, String message) {
+            return validateAsync(specification, message, null);
+        }
+
+        public static AsyncValidation validateAsync(AsyncSpecification specification, String message, Object actualValue) {
+            return new AsyncValidation(specification, message, actualValue);
+        }
+
+        private ErrorMessage errorMessage() {
+            return new ErrorMessage(message, actualValue);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact outcome of a {@link BatchValidator} run.
+ *
+ * Only failed records are stored: their index, their errors and their error count, in parallel arrays sorted by index.
+ * Passing records take no memory.
+ *
+ * @author Tristan Diaz
+ */
+public final class BatchResult {
+
+    /**
+     * number of validated records
+     */
+    private final int size;
+
+    /**
+     * indexes of failed records, ascending
+     */
+    private final int[] failedIndexes;
+
+    /**
+     * errors of failed records, parallel to {@link #failedIndexes}
+     */
+    private final List<ErrorMessage>[] errors;
+
+    /**
+     * number of errors of failed records, including counted ones without message; parallel to {@link #failedIndexes}
+     */
+    private final int[] errorCounts;
+
+
+
+    private BatchResult(int size, int[] failedIndexes, List<ErrorMessage>[] errors, int[] errorCounts) {
+        this.size = size;
+        this.failedIndexes = failedIndexes;
+        this.errors = errors;
+        this.errorCounts = errorCounts;
+    }
+
+
+
+    /**
+     * @return number of validated records
+     */
+    public int size() {
+        return size;
+    }
+
+
+
+    /**
+     * @return number of failed records
+     */
+    public int failureCount() {
+        return failedIndexes.length;
+    }
+
+
+
+    /**
+     * to confirm any record failed
+     *
+     * @return boolean
+     */
+    public boolean hasErrors() {
+        return failedIndexes.length > 0;
+    }
+
+
+
+    /**
+     * to confirm record at given index failed
+     *
+     * @param index record index in iteration order
+     * @return boolean
+     */
+    public boolean hasErrors(int index) {
+        return Arrays.binarySearch(failedIndexes, index) >= 0;
+    }
+
+
+
+    /**
+     * returns errors of record at given index
+     *
+     * @param index record index in iteration order
+     * @return list of {@link ErrorMessage}, empty if the record passed
+     */
+    public List<ErrorMessage> getErrors(int index) {
+        int position = Arrays.binarySearch(failedIndexes, index);
+        return position >= 0 ? errors[position] : Collections.emptyList();
+    }
+
+
+
+    /**
+     * returns number of errors of record at given index, including errors only counted under {@link ErrorPolicy#countOnly()}
+     *
+     * @param index record index in iteration order
+     * @return error count, 0 if the record passed
+     */
+    public int getErrorCount(int index) {
+        int position = Arrays.binarySearch(failedIndexes, index);
+        return position >= 0 ? errorCounts[position] : 0;
+    }
+
+
+
+    /**
+     * Visits every failed record in index order
+     *
+     * @param consumer failure consumer
+     */
+    public void forEachFailure(FailureConsumer consumer) {
+        for (int i = 0; i < failedIndexes.length; i++) {
+            consumer.accept(failedIndexes[i], errors[i]);
+        }
+    }
+
+
+
+    /**
+     * Callback for failed records; receives the primitive index to avoid boxing.
+     */
+    @FunctionalInterface
+    public interface FailureConsumer {
+        void accept(int index, List<ErrorMessage> errors);
+    }
+
+
+
+    /**
+     * Accumulates record outcomes in index order; not thread-safe.
+     */
+    static final class Builder {
+
+        private int size;
+        private int failures;
+        private int[] failedIndexes = new int[8];
+
+        @SuppressWarnings("unchecked")
+        private List<ErrorMessage>[] errors = new List[8];
+
+        private int[] errorCounts = new int[8];
+
+        /**
+         * @param recordErrors errors of next record, {@literal null} if the record passed
+         */
+        void add(Errors recordErrors) {
+            int index = size++;
+
+            if (recordErrors == null) {
+                return;
+            }
+
+            if (failures == failedIndexes.length) {
+                failedIndexes = Arrays.copyOf(failedIndexes, failures * 2);
+                errors = Arrays.copyOf(errors, failures * 2);
+                errorCounts = Arrays.copyOf(errorCounts, failures * 2);
+            }
+
+            failedIndexes[failures] = index;
+            errors[failures] = recordErrors.toList();
+            errorCounts[failures] = recordErrors.size;
+            failures++;
+        }
+
+        BatchResult build() {
+            return new BatchResult(size, Arrays.copyOf(failedIndexes, failures), Arrays.copyOf(errors, failures),
+                    Arrays.copyOf(errorCounts, failures));
+        }
+    }
+}
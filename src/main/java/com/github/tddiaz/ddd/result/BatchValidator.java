@@ -0,0 +1,99 @@
+package com.github.tddiaz.ddd.result;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Validates large batches of domain objects against a compiled {@link Validator}.
+ *
+ * Unlike applying the validator to every record, no {@link Result} is created per record;
+ * only failed records take memory in the returned {@link BatchResult}.
+ *
+ * @param <T> domain object type
+ * @author Tristan Diaz
+ */
+public final class BatchValidator<T> {
+
+    private final Validator<T> validator;
+
+
+
+    /**
+     * private constructor; accepts compiled rule set
+     *
+     * @param validator compiled rule set
+     */
+    private BatchValidator(Validator<T> validator) {
+        this.validator = Objects.requireNonNull(validator, "validator");
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * @param validator compiled rule set
+     * @param <T> domain object type
+     * @return BatchValidator instance
+     */
+    public static <T> BatchValidator<T> of(Validator<T> validator) {
+        return new BatchValidator<>(validator);
+    }
+
+
+
+    /**
+     * Validates every domain object on the caller thread
+     *
+     * @param candidates domain objects
+     * @return BatchResult indexed in iteration order
+     */
+    public BatchResult validate(Iterable<? extends T> candidates) {
+        return validate(candidates.iterator());
+    }
+
+
+
+    /**
+     * Validates every remaining domain object on the caller thread; the iterator is consumed.
+     *
+     * @param candidates domain objects
+     * @return BatchResult indexed in iteration order
+     */
+    public BatchResult validate(Iterator<? extends T> candidates) {
+        BatchResult.Builder batch = new BatchResult.Builder();
+
+        while (candidates.hasNext()) {
+            batch.add(validator.errorsOf(candidates.next()));
+        }
+
+        return batch.build();
+    }
+
+
+
+    /**
+     * Validates every domain object on {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param candidates domain objects
+     * @return BatchResult indexed in iteration order
+     */
+    @SuppressWarnings("unchecked")
+    public BatchResult validateParallel(Collection<? extends T> candidates) {
+        Object[] records = candidates.toArray();
+        Errors[] errors = new Errors[records.length];
+
+        IntStream.range(0, records.length)
+                .parallel()
+                .forEach(index -> errors[index] = validator.errorsOf((T) records[index]));
+
+        BatchResult.Builder batch = new BatchResult.Builder();
+        for (Errors recordErrors : errors) {
+            batch.add(recordErrors);
+        }
+
+        return batch.build();
+    }
+}
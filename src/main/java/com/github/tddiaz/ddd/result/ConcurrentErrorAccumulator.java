@@ -0,0 +1,131 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free error sink many worker threads can report into, frozen into a {@link Result} once every worker finished.
+ *
+ * Each validation owns an index slot matching its declaration order, so the frozen result lists errors
+ * in declaration order regardless of which thread finished first. Errors reported without a slot are
+ * listed after the slotted ones, in arrival order.
+ *
+ * <pre>
+ *     ConcurrentErrorAccumulator accumulator = new ConcurrentErrorAccumulator(checks.size());
+ *     // on worker threads
+ *     accumulator.report(index, "checksum mismatch", actualValue);
+ *     // once every worker finished
+ *     Result&lt;Document&gt; result = accumulator.toResult(Document.class);
+ * </pre>
+ *
+ * @author Tristan Diaz
+ */
+public final class ConcurrentErrorAccumulator {
+
+    /**
+     * errors indexed by declaration order
+     */
+    private final AtomicReferenceArray<ErrorMessage> slots;
+
+    /**
+     * errors reported without slot, in arrival order
+     */
+    private final Queue<ErrorMessage> unslotted = new ConcurrentLinkedQueue<>();
+
+
+
+    /**
+     * @param slots number of declared validations
+     */
+    public ConcurrentErrorAccumulator(int slots) {
+        this.slots = new AtomicReferenceArray<>(slots);
+    }
+
+
+
+    /**
+     * @see #report(int, String, Object)
+     */
+    public void report(int slot, String message) {
+        report(slot, message, null);
+    }
+
+
+
+    /**
+     * Reports error of the validation declared at given slot; safe to call from any thread.
+     * Only the first error reported per slot is kept.
+     *
+     * @param slot declaration index of the failed validation
+     * @param message error message
+     * @param actualValue actual value being validated
+     * @throws IndexOutOfBoundsException if slot is out of range
+     */
+    public void report(int slot, String message, Object actualValue) {
+        slots.compareAndSet(slot, null, new ErrorMessage(message, actualValue));
+    }
+
+
+
+    /**
+     * @see #add(String, Object)
+     */
+    public void add(String message) {
+        add(message, null);
+    }
+
+
+
+    /**
+     * Reports error without slot; safe to call from any thread.
+     *
+     * @param message error message
+     * @param actualValue actual value being validated
+     */
+    public void add(String message, Object actualValue) {
+        unslotted.offer(new ErrorMessage(message, actualValue));
+    }
+
+
+
+    /**
+     * Freezes reported errors into a Result; call once every worker finished reporting.
+     *
+     * @param _class class type of domain object.
+     * @param <T> domain object type
+     * @return Result with the reported errors in slot order followed by unslotted errors
+     */
+    public <T> Result<T> toResult(Class<T> _class) {
+        return toResult(_class, ErrorPolicy.all());
+    }
+
+
+
+    /**
+     * Freezes reported errors into a Result under the given error policy; call once every worker finished reporting.
+     *
+     * @param _class class type of domain object.
+     * @param policy error collection policy
+     * @param <T> domain object type
+     * @return Result with the reported errors the policy keeps, in slot order followed by unslotted errors
+     */
+    public <T> Result<T> toResult(Class<T> _class, ErrorPolicy policy) {
+        ResultBuilder<T> result = ResultBuilder.resultFor(_class, policy);
+
+        for (int i = 0; i < slots.length(); i++) {
+            ErrorMessage errorMessage = slots.get(i);
+            if (errorMessage != null) {
+                result.addError(errorMessage);
+            }
+        }
+
+        for (ErrorMessage errorMessage : unslotted) {
+            result.addError(errorMessage);
+        }
+
+        return result.build();
+    }
+}
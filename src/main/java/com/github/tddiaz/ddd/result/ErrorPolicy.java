@@ -0,0 +1,289 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decides which errors of failed specifications are recorded, and when evaluating further specifications
+ * can stop; lets batch jobs against garbage input bound the CPU and heap spent per record.
+ *
+ * Honoured by {@link Result#validateAll(ErrorPolicy, Result.Validation...)}, {@link Result#combine(ErrorPolicy, Result...)},
+ * {@link ResultBuilder#resultFor(Class, ErrorPolicy)}, {@link Validator.Builder#errorPolicy(ErrorPolicy)} and therefore
+ * {@link BatchValidator}, and {@link ConcurrentErrorAccumulator#toResult(Class, ErrorPolicy)}.
+ * A failed ensure specification is always recorded, as a count under {@link #countOnly()}. Instances are immutable and thread-safe.
+ *
+ * @author Tristan Diaz
+ */
+public abstract class ErrorPolicy {
+
+    private static final ErrorPolicy ALL = new All();
+
+    private static final ErrorPolicy COUNT_ONLY = new CountOnly();
+
+
+
+    /**
+     * private constructor; only the nested policies extend ErrorPolicy
+     */
+    private ErrorPolicy() {
+    }
+
+
+
+    /**
+     * records every error; the default policy
+     *
+     * @return ErrorPolicy
+     */
+    public static ErrorPolicy all() {
+        return ALL;
+    }
+
+
+
+    /**
+     * records the first maxErrors errors; once reached, remaining specifications are not evaluated.
+     *
+     * @param maxErrors maximum number of errors
+     * @return ErrorPolicy
+     */
+    public static ErrorPolicy maxErrors(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+
+        return new MaxErrors(maxErrors);
+    }
+
+
+
+    /**
+     * records only the first error per key, e.g. per field or per {@link ErrorMessage#getCode()};
+     * specifications are still evaluated, later errors for a recorded key are dropped.
+     *
+     * @param key derives the key, e.g. the field, from an error message
+     * @return ErrorPolicy
+     */
+    public static ErrorPolicy firstPer(Function<? super ErrorMessage, ?> key) {
+        return new FirstPer(Objects.requireNonNull(key, "key"));
+    }
+
+
+
+    /**
+     * counts errors without creating or keeping their messages; see {@link Result#getErrorCount()}.
+     *
+     * @return ErrorPolicy
+     */
+    public static ErrorPolicy countOnly() {
+        return COUNT_ONLY;
+    }
+
+
+
+    /**
+     * @param errors errors collected so far, {@literal null} if there are none
+     * @return new Collector continuing from errors
+     */
+    abstract Collector collector(Errors errors);
+
+
+
+    /**
+     * Collects the errors of one validation under the policy; mutable and confined to the collecting thread.
+     */
+    abstract static class Collector {
+
+        /**
+         * errors collected so far, {@literal null} if there are none
+         */
+        Errors errors;
+
+        private Collector(Errors errors) {
+            this.errors = errors;
+        }
+
+        /**
+         * @return {@literal false} once no further error would be recorded, so remaining specifications can be skipped
+         */
+        boolean accepts() {
+            return true;
+        }
+
+        /**
+         * @param errorMessage error of a failed specification
+         */
+        abstract void add(ErrorMessage errorMessage);
+
+        /**
+         * @param errorMessage creates the error of a failed specification; only called if the policy needs it
+         */
+        void add(Supplier<ErrorMessage> errorMessage) {
+            add(errorMessage.get());
+        }
+
+        /**
+         * @param count number of errors to count without a message, e.g. collected under {@link #countOnly()}
+         */
+        void count(int count) {
+            errors = Errors.count(errors, count);
+        }
+
+        /**
+         * @param right errors to add after the collected ones, {@literal null} if there are none
+         */
+        void addAll(Errors right) {
+            if (right == null) {
+                return;
+            }
+
+            List<ErrorMessage> listed = right.toList();
+            for (ErrorMessage errorMessage : listed) {
+                if (!accepts()) {
+                    return;
+                }
+                add(errorMessage);
+            }
+
+            if (right.size > listed.size() && accepts()) {
+                count(right.size - listed.size());
+            }
+        }
+    }
+
+
+
+    private static final class All extends ErrorPolicy {
+
+        @Override
+        Collector collector(Errors errors) {
+            return new Collector(errors) {
+
+                @Override
+                void add(ErrorMessage errorMessage) {
+                    this.errors = Errors.append(this.errors, errorMessage);
+                }
+
+                @Override
+                void addAll(Errors right) {
+                    this.errors = Errors.concat(this.errors, right);
+                }
+            };
+        }
+    }
+
+
+
+    private static final class MaxErrors extends ErrorPolicy {
+
+        private final int maxErrors;
+
+        private MaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        @Override
+        Collector collector(Errors errors) {
+            return new Collector(errors) {
+
+                @Override
+                boolean accepts() {
+                    return this.errors == null || this.errors.size < maxErrors;
+                }
+
+                @Override
+                void add(ErrorMessage errorMessage) {
+                    if (accepts()) {
+                        this.errors = Errors.append(this.errors, errorMessage);
+                    }
+                }
+
+                @Override
+                void count(int count) {
+                    super.count(Math.min(count, maxErrors - (this.errors == null ? 0 : this.errors.size)));
+                }
+
+                @Override
+                void addAll(Errors right) {
+                    if (right != null && (this.errors == null ? 0 : this.errors.size) + right.size <= maxErrors) {
+                        this.errors = Errors.concat(this.errors, right);
+                    } else {
+                        super.addAll(right);
+                    }
+                }
+            };
+        }
+    }
+
+
+
+    private static final class FirstPer extends ErrorPolicy {
+
+        private final Function<? super ErrorMessage, ?> key;
+
+        private FirstPer(Function<? super ErrorMessage, ?> key) {
+            this.key = key;
+        }
+
+        @Override
+        Collector collector(Errors errors) {
+            return new Collector(errors) {
+
+                /**
+                 * keys of the collected errors; seeded from the initial errors on the first add
+                 */
+                private Set<Object> keys;
+
+                @Override
+                void add(ErrorMessage errorMessage) {
+                    if (keys == null) {
+                        keys = new HashSet<>();
+                        if (this.errors != null) {
+                            for (ErrorMessage recorded : this.errors.toList()) {
+                                keys.add(key.apply(recorded));
+                            }
+                        }
+                    }
+
+                    if (keys.add(key.apply(errorMessage))) {
+                        this.errors = Errors.append(this.errors, errorMessage);
+                    }
+                }
+            };
+        }
+    }
+
+
+
+    private static final class CountOnly extends ErrorPolicy {
+
+        @Override
+        Collector collector(Errors errors) {
+            return new Collector(errors) {
+
+                @Override
+                void add(ErrorMessage errorMessage) {
+                    this.errors = Errors.count(this.errors, 1);
+                }
+
+                @Override
+                void add(Supplier<ErrorMessage> errorMessage) {
+                    this.errors = Errors.count(this.errors, 1);
+                }
+
+                @Override
+                void addAll(Errors right) {
+                    if (right != null) {
+                        this.errors = Errors.count(this.errors, right.size);
+                    }
+                }
+            };
+        }
+    }
+}
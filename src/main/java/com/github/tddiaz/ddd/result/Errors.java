@@ -0,0 +1,167 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Persistent, immutable sequence of error messages backing {@link Result}.
+ *
+ * Appending an error or concatenating two sequences creates a single node sharing the existing ones,
+ * so combining results is O(1) regardless of how many errors they hold.
+ * The sequence is only flattened into a list by {@link #toList()}.
+ *
+ * @author Tristan Diaz
+ */
+abstract class Errors {
+
+    /**
+     * number of errors in this sequence, including counted ones without message
+     */
+    final int size;
+
+
+
+    private Errors(int size) {
+        this.size = size;
+    }
+
+
+
+    /**
+     * @param prefix existing sequence, {@literal null} if empty
+     * @param errorMessage error message to append
+     * @return sequence with errorMessage appended
+     */
+    static Errors append(Errors prefix, ErrorMessage errorMessage) {
+        return prefix == null ? new Single(errorMessage) : new Append(prefix, errorMessage);
+    }
+
+
+
+    /**
+     * @param left first sequence, {@literal null} if empty
+     * @param right second sequence, {@literal null} if empty
+     * @return left followed by right
+     */
+    static Errors concat(Errors left, Errors right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return new Concat(left, right);
+    }
+
+
+
+    /**
+     * @param errors existing sequence, {@literal null} if empty
+     * @param count number of errors to count without keeping their messages
+     * @return sequence with count more errors
+     * @see ErrorPolicy#countOnly()
+     */
+    static Errors count(Errors errors, int count) {
+        if (errors == null || errors instanceof Counted) {
+            return new Counted((errors == null ? 0 : errors.size) + count);
+        }
+        return new Concat(errors, new Counted(count));
+    }
+
+
+
+    /**
+     * Flattens the sequence; walks the nodes iteratively, so deep sequences can't overflow the stack.
+     *
+     * @return unmodifiable list of error messages in insertion order; counted errors have no message
+     */
+    List<ErrorMessage> toList() {
+        ErrorMessage[] out = new ErrorMessage[size];
+        int position = size;
+
+        Deque<Errors> pending = new ArrayDeque<>();
+        Errors node = this;
+
+        while (node != null) {
+            if (node instanceof Append) {
+                out[--position] = ((Append) node).last;
+                node = ((Append) node).prefix;
+            } else if (node instanceof Concat) {
+                pending.push(((Concat) node).left);
+                node = ((Concat) node).right;
+            } else {
+                if (node instanceof Single) {
+                    out[--position] = ((Single) node).errorMessage;
+                }
+                node = pending.poll();
+            }
+        }
+
+        if (position == size) {
+            return Collections.emptyList();
+        }
+
+        if (position > 0) {
+            out = Arrays.copyOfRange(out, position, size);
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(out));
+    }
+
+
+
+    private static final class Single extends Errors {
+
+        private final ErrorMessage errorMessage;
+
+        private Single(ErrorMessage errorMessage) {
+            super(1);
+            this.errorMessage = errorMessage;
+        }
+    }
+
+
+
+    /**
+     * errors counted without keeping their messages
+     */
+    private static final class Counted extends Errors {
+
+        private Counted(int count) {
+            super(count);
+        }
+    }
+
+
+
+    private static final class Append extends Errors {
+
+        private final Errors prefix;
+        private final ErrorMessage last;
+
+        private Append(Errors prefix, ErrorMessage last) {
+            super(prefix.size + 1);
+            this.prefix = prefix;
+            this.last = last;
+        }
+    }
+
+
+
+    private static final class Concat extends Errors {
+
+        private final Errors left;
+        private final Errors right;
+
+        private Concat(Errors left, Errors right) {
+            super(left.size + right.size);
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.tddiaz.ddd.result;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interned error message template referenced by an int code.
+ *
+ * Templates are registered once, e.g. as constants, and coded {@link Result.ErrorMessage}s only keep a reference
+ * to the template and their arguments; the text is rendered when the message is read or serialized.
+ * Placeholders {@code {0}}, {@code {1}}, ... refer to the arguments by index.
+ *
+ * <pre>
+ *     static final MessageTemplate QUANTITY_TOO_HIGH = MessageTemplate.register(1001, "quantity must be at most {0}");
+ *
+ *     result.validateAll(validate(quantityWithinLimit, QUANTITY_TOO_HIGH, quantity, limit));
+ * </pre>
+ *
+ * Thread-safe.
+ *
+ * @author Tristan Diaz
+ */
+public final class MessageTemplate {
+
+    private static final ConcurrentMap<Integer, MessageTemplate> REGISTRY = new ConcurrentHashMap<>();
+
+    private final int code;
+    private final String template;
+
+    /**
+     * template split at its placeholders; {@code literals.length == indexes.length + 1}
+     */
+    private final String[] literals;
+    private final int[] indexes;
+
+
+
+    private MessageTemplate(int code, String template) {
+        this.code = code;
+        this.template = template;
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            Integer index = close < 0 ? null : parseIndex(template.substring(open + 1, close));
+
+            if (index == null) {
+                open = template.indexOf('{', open + 1);
+                continue;
+            }
+
+            literals.add(template.substring(start, open));
+            indexes.add(index);
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        literals.add(template.substring(start));
+
+        this.literals = literals.toArray(new String[0]);
+        this.indexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+
+    /**
+     * Registers template for given code; registering the same template again returns the registered instance.
+     *
+     * @param code positive message code
+     * @param template message text with {@code {0}}, {@code {1}}, ... placeholders
+     * @return interned MessageTemplate
+     * @throws IllegalArgumentException if code is not positive or already registered with another template
+     */
+    public static MessageTemplate register(int code, String template) {
+        if (code <= 0) {
+            throw new IllegalArgumentException("code must be positive: " + code);
+        }
+
+        MessageTemplate registered = REGISTRY.computeIfAbsent(code, c -> new MessageTemplate(c, Objects.requireNonNull(template, "template")));
+
+        if (!registered.template.equals(template)) {
+            throw new IllegalArgumentException("code " + code + " is already registered for \"" + registered.template + "\"");
+        }
+
+        return registered;
+    }
+
+
+
+    /**
+     * @param code message code
+     * @return registered MessageTemplate
+     * @throws IllegalArgumentException if no template is registered for code
+     */
+    public static MessageTemplate forCode(int code) {
+        MessageTemplate registered = REGISTRY.get(code);
+
+        if (registered == null) {
+            throw new IllegalArgumentException("no template registered for code " + code);
+        }
+
+        return registered;
+    }
+
+
+
+    /**
+     * Resolves template received from another service, e.g. by {@link ResultBinaryCodec}; doesn't register it.
+     *
+     * @param code message code
+     * @param template message text
+     * @return registered MessageTemplate if it has the same text, otherwise unregistered MessageTemplate
+     */
+    static MessageTemplate resolve(int code, String template) {
+        MessageTemplate registered = REGISTRY.get(code);
+
+        return registered != null && registered.template.equals(template) ? registered : new MessageTemplate(code, template);
+    }
+
+
+
+    public int getCode() {
+        return code;
+    }
+
+
+
+    public String getTemplate() {
+        return template;
+    }
+
+
+
+    /**
+     * @param arguments placeholder arguments; placeholders without argument are rendered as is
+     * @return template with its placeholders replaced
+     */
+    String render(Object[] arguments) {
+        if (indexes.length == 0) {
+            return template;
+        }
+
+        StringBuilder text = new StringBuilder(template.length() + 16 * indexes.length);
+        try {
+            render(arguments, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return text.toString();
+    }
+
+
+
+    /**
+     * @param arguments placeholder arguments; placeholders without argument are rendered as is
+     * @param out receives template with its placeholders replaced
+     * @throws IOException if out fails
+     */
+    void render(Object[] arguments, Appendable out) throws IOException {
+        for (int i = 0; i < indexes.length; i++) {
+            out.append(literals[i]);
+
+            if (indexes[i] < arguments.length) {
+                Object argument = arguments[indexes[i]];
+                out.append(argument instanceof CharSequence ? (CharSequence) argument : String.valueOf(argument));
+            } else {
+                out.append('{').append(Integer.toString(indexes[i])).append('}');
+            }
+        }
+
+        out.append(literals[indexes.length]);
+    }
+
+
+
+    private static Integer parseIndex(String placeholder) {
+        if (placeholder.isEmpty() || placeholder.length() > 3) {
+            return null;
+        }
+
+        for (int i = 0; i < placeholder.length(); i++) {
+            char digit = placeholder.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return null;
+            }
+        }
+
+        return Integer.valueOf(placeholder);
+    }
+
+
+
+    @Override
+    public String toString() {
+        return code + ": " + template;
+    }
+}
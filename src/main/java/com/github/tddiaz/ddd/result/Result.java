@@ -1,11 +1,18 @@
 package com.github.tddiaz.ddd.result;
 
 import com.github.tddiaz.ddd.specification.Specification;
-import org.apache.commons.collections4.CollectionUtils;
+import com.github.tddiaz.ddd.specification.TypedSpecification;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -14,120 +21,180 @@ import java.util.function.Supplier;
  *
  * Inspired by <bold>Railway Oriented Programming</bold> and <bold>Specification and Notification Pattern</bold>.
  *
+ * Instances are immutable: every step returns a new Result when it adds errors or a value, and the Result itself
+ * when nothing changed. A Result can therefore be shared across threads, cached and published without copying.
+ * Use {@link ResultBuilder} to accumulate errors imperatively.
  *
+ * A Result is either a success holding only the domain object, a pending result holding only the class type
+ * (see {@link #resultFor(Class)}) or a failure holding only the errors; no variant carries fields it doesn't use.
  *
  * @author Tristan Diaz
  *
  */
-public class Result<T> {
+public abstract class Result<T> {
 
     /**
-     * class type validate domain object
+     * private constructor; only the {@link Success}, {@link Pending} and {@link Failure} variants extend Result
      */
-    private Class<T> _class;
+    private Result() {
+    }
 
-    /**
-     *  domain object as value
-     */
-    private T value;
 
     /**
-     * consolidated error messages from failed specifications
+     * static factory method
+     *
+     * returns Result instance with given class type of domain object
+     *
+     * @param _class class type of domain object.
+     * @param <T> object type domain object
+     * @return Result instance
      */
-    private List<ErrorMessage> errors;
+    public static <T> Result<T> resultFor(Class<T> _class) {
+        return new Pending<>(_class);
+    }
+
 
     /**
-     * set to {@literal true} {@link #ensureFailed()} once ensure specification is failed.
+     * static factory method
      *
-     * @see #ensure(Specification, String, Object)
-     * @see #validateAll(Validation...)
+     * returns Result instance with given domain object as value
+     *
+     * @param value domain object
+     * @param <T> domain object type
+     * @return
      */
-    private boolean ensureFailed = false;
+    public static <T> Result<T> as(T value) {
+        return Objects.isNull(value) ? new Pending<>(null) : new Success<>(value);
+    }
 
 
 
     /**
-     * private constructor; accepts domain object class
+     * factory method used by {@link ResultBuilder} and the other validation engines
      *
      * @param _class class type validate domain object.
+     * @param value domain object; ignored when there are errors
+     * @param errors error messages, {@literal null} if there are none
+     * @param ensureFailed {@literal true} once ensure specification is failed
+     * @param <T> domain object type
+     * @return Result instance
      */
-    private Result(Class<T> _class) {
-        this._class = _class;
+    static <T> Result<T> of(Class<T> _class, T value, Errors errors, boolean ensureFailed) {
+        if (errors != null) {
+            return new Failure<>(_class, errors, ensureFailed);
+        }
+
+        return Objects.isNull(value) ? new Pending<>(_class) : new Success<>(value);
     }
 
 
     /**
-     * private constructor; accepts domain object as value
+     * to confirm Result with errors
      *
-     * @param value domain object
+     * @return boolean
      */
-    private Result(T value) {
-        this.value = value;
+    public boolean hasErrors() {
+        return false;
     }
 
 
     /**
-     * static factory method
-     *
-     * returns Result instance with given class type validate domain object
+     * returns domain object
      *
-     * @param _class class type validate domain object.
-     * @param <T> object type domain object
-     * @return Result instance
+     * @return domain object value
+     * @throws HasNoSuccessValueException if value is {@literal null}
      */
-    public static <T> Result<T> resultFor(Class<T> _class) {
-        return new Result<>(_class);
+    public T get() {
+        throw new HasNoSuccessValueException();
     }
 
 
+
     /**
-     * static factory method
+     * returns domain object, or other if there is none; never throws.
      *
-     * returns Result instance with given domain object as value
+     * @param other fallback value
+     * @return domain object value or other
+     */
+    public T getOrElse(T other) {
+        return other;
+    }
+
+
+
+    /**
+     * returns domain object as Optional; never throws.
      *
-     * @param value domain object
-     * @param <T> domain object type
-     * @return
+     * @return Optional of domain object, empty if there is none
      */
-    public static <T> Result<T> as(T value) {
-        return new Result<>(value);
+    public Optional<T> toOptional() {
+        return Optional.empty();
     }
 
 
+
     /**
-     * to confirm Result with errors
+     * Applies onSuccess to the domain object, otherwise onFailure to the errors; never throws.
+     * A Result without errors and without domain object is folded as failure with no errors.
      *
-     * @return boolean
+     * @param onFailure maps the errors
+     * @param onSuccess maps the domain object
+     * @param <R> folded type
+     * @return folded value
      */
-    public boolean hasErrors() {
-        return CollectionUtils.isNotEmpty(this.errors);
+    public <R> R fold(Function<? super List<ErrorMessage>, ? extends R> onFailure, Function<? super T, ? extends R> onSuccess) {
+        return onFailure.apply(getErrors());
     }
 
 
+
     /**
-     * returns domain object
+     * Maps the domain object; a Result without domain object is returned as is, without copying its errors.
      *
-     * @return domain object value
-     * @throws HasNoSuccessValueException if value is {@literal null}
+     * @param mapper maps the domain object
+     * @param <U> mapped domain object type
+     * @return Result with mapped domain object, or this Result if there is no domain object
      */
-    public T get() {
+    @SuppressWarnings("unchecked")
+    public <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+        return (Result<U>) this;
+    }
+
 
-        if (Objects.isNull(this.value)) {
-            throw new HasNoSuccessValueException();
-        }
 
-        return this.value;
+    /**
+     * Maps the domain object to another Result; a Result without domain object is returned as is.
+     *
+     * @param mapper maps the domain object to a Result
+     * @param <U> mapped domain object type
+     * @return Result returned by mapper, or this Result if there is no domain object
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Result<U> flatMap(Function<? super T, Result<U>> mapper) {
+        return (Result<U>) this;
     }
 
 
 
     /**
-     * returns list validate {@link ErrorMessage}
+     * returns list of {@link ErrorMessage}; errors are only flattened into a list here,
+     * so combining results doesn't copy them.
      *
-     * @return list validate {@link ErrorMessage}
+     * @return unmodifiable list of {@link ErrorMessage}, empty if there are no errors
      */
     public List<ErrorMessage> getErrors() {
-        return this.errors;
+        return Collections.emptyList();
+    }
+
+
+
+    /**
+     * returns number of errors, including errors counted without message by {@link ErrorPolicy#countOnly()}
+     *
+     * @return number of errors
+     */
+    public int getErrorCount() {
+        return 0;
     }
 
 
@@ -136,7 +203,7 @@ public class Result<T> {
      * @see #ensure(Specification, String, Object)
      */
     public Result<T> ensure(Specification specification, String message) {
-        return ensure(specification, message, null);
+        return ensure(specification, message, (Object) null);
     }
 
 
@@ -152,16 +219,138 @@ public class Result<T> {
      */
     public Result<T> ensure(Specification specification, String message, Object actualValue) {
 
-        if (hasErrors()) {
+        if (hasErrors() || specification.isSatisfied()) {
+            return this;
+        }
+
+        return ensureFailed(new ErrorMessage(message, actualValue));
+    }
+
+
+
+    /**
+     * @see #ensure(Specification, Supplier, Supplier)
+     */
+    public Result<T> ensure(Specification specification, String message, Supplier<?> actualValue) {
+
+        if (hasErrors() || specification.isSatisfied()) {
+            return this;
+        }
+
+        return ensureFailed(new ErrorMessage(message, ErrorMessage.get(actualValue)));
+    }
+
+
+
+    /**
+     * ensures specification is satisfied before processing further validations;
+     * message and actual value are only computed once the specification failed, e.g. to avoid boxing primitives.
+     *
+     * @param specification domain specification that needs to be satisfy
+     * @param message error message supplier
+     * @param actualValue actual value supplier, may be {@literal null}
+     *
+     * @return Result
+     */
+    public Result<T> ensure(Specification specification, Supplier<String> message, Supplier<?> actualValue) {
+
+        if (hasErrors() || specification.isSatisfied()) {
             return this;
         }
 
-        if (!specification.isSatisfied()) {
-            addError(new ErrorMessage(message, actualValue));
-            ensureFailed();
+        return ensureFailed(new ErrorMessage(message.get(), ErrorMessage.get(actualValue)));
+    }
+
+
+
+    /**
+     * ensures specification is satisfied before processing further validations; the error message references
+     * the given template and is rendered when read.
+     *
+     * @param specification domain specification that needs to be satisfy
+     * @param template interned message template
+     * @param actualValue actual value being validated
+     * @param arguments template arguments
+     *
+     * @return Result
+     */
+    public Result<T> ensure(Specification specification, MessageTemplate template, Object actualValue, Object... arguments) {
+
+        if (hasErrors() || specification.isSatisfied()) {
+            return this;
         }
 
-        return this;
+        return ensureFailed(ErrorMessage.coded(template, actualValue, arguments));
+    }
+
+
+
+    /**
+     * ensures typed specification is satisfied by the candidate before processing further validations.
+     * candidate is used as actual value of the error message.
+     *
+     * @param specification domain specification that needs to be satisfied by the candidate
+     * @param candidate value being validated
+     * @param message error message
+     * @param <V> candidate type
+     *
+     * @return Result
+     */
+    public <V> Result<T> ensure(TypedSpecification<? super V> specification, V candidate, String message) {
+
+        if (hasErrors() || specification.isSatisfiedBy(candidate)) {
+            return this;
+        }
+
+        return ensureFailed(new ErrorMessage(message, candidate));
+    }
+
+
+
+    /**
+     * Processes single specification validation; avoids the varargs array allocation.
+     *
+     * @see #validateAll(Validation...)
+     */
+    public Result<T> validateAll(Validation validation) {
+
+        if (isEnsureFailed()) {
+            return this;
+        }
+
+        return withErrors(validation.validate(errors()));
+    }
+
+
+
+    /**
+     * Processes two specification validations; avoids the varargs array allocation.
+     *
+     * @see #validateAll(Validation...)
+     */
+    public Result<T> validateAll(Validation validation1, Validation validation2) {
+
+        if (isEnsureFailed()) {
+            return this;
+        }
+
+        return withErrors(validation2.validate(validation1.validate(errors())));
+    }
+
+
+
+    /**
+     * Processes three specification validations; avoids the varargs array allocation.
+     *
+     * @see #validateAll(Validation...)
+     */
+    public Result<T> validateAll(Validation validation1, Validation validation2, Validation validation3) {
+
+        if (isEnsureFailed()) {
+            return this;
+        }
+
+        return withErrors(validation3.validate(validation2.validate(validation1.validate(errors()))));
     }
 
 
@@ -175,36 +364,129 @@ public class Result<T> {
      */
     public Result<T> validateAll(Validation... validations) {
 
-        if (ensureFailed) {
+        if (isEnsureFailed()) {
+            return this;
+        }
+
+        Errors updated = errors();
+        for (Validation validation : validations) {
+            updated = validation.validate(updated);
+        }
+
+        return withErrors(updated);
+    }
+
+
+
+    /**
+     * Processes specifications validations under the given error policy; once the policy records no further error,
+     * remaining validations are not evaluated.
+     *
+     * @param policy error collection policy
+     * @param validations array of validations
+     *
+     * @return Result
+     */
+    public Result<T> validateAll(ErrorPolicy policy, Validation... validations) {
+
+        if (isEnsureFailed()) {
             return this;
         }
 
+        ErrorPolicy.Collector collector = policy.collector(errors());
         for (Validation validation : validations) {
-            if (!validation.specification.isSatisfied()) {
-                addError(validation.errorMessage);
+            if (!collector.accepts()) {
+                break;
+            }
+            if (!validation.isSatisfied()) {
+                collector.add(validation::errorMessage);
+            }
+        }
+
+        return withErrors(collector.errors);
+    }
+
+
+
+    /**
+     * Processes every specifications validation on {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #validateAllParallel(Executor, Validation...)
+     */
+    public Result<T> validateAllParallel(Validation... validations) {
+        return validateAllParallel(ForkJoinPool.commonPool(), validations);
+    }
+
+
+
+    /**
+     * Processes every specifications validation concurrently on the given executor;
+     * meant for CPU-heavy specifications. Blocks until every validation is evaluated.
+     *
+     * Errors are added in declaration order, same as {@link #validateAll(Validation...)}.
+     *
+     * @param executor executor evaluating the specifications
+     * @param validations array of validations
+     *
+     * @return Result
+     */
+    @SuppressWarnings("unchecked")
+    public Result<T> validateAllParallel(Executor executor, Validation... validations) {
+
+        if (isEnsureFailed()) {
+            return this;
+        }
+
+        CompletableFuture<Boolean>[] outcomes = new CompletableFuture[validations.length];
+        for (int i = 0; i < validations.length; i++) {
+            outcomes[i] = CompletableFuture.supplyAsync(validations[i]::isSatisfied, executor);
+        }
+
+        Errors updated = errors();
+        for (int i = 0; i < validations.length; i++) {
+            if (!await(outcomes[i])) {
+                updated = Errors.append(updated, validations[i].errorMessage());
             }
         }
 
-        return this;
+        return withErrors(updated);
     }
 
 
 
     /**
-     * Combines Results from different entities or value objects
+     * Combines Results from different entities or value objects; O(1) per result, errors are shared and not copied.
      *
      * @param results array validate results
      *
      * @return Result
      */
     public Result<T> combine(Result... results) {
+        Errors updated = errors();
         for (Result result : results) {
-            if (result.hasErrors()) {
-                addErrors(result.getErrors());
-            }
+            updated = Errors.concat(updated, result.errors());
         }
 
-        return this;
+        return withErrors(updated);
+    }
+
+
+
+    /**
+     * Combines Results from different entities or value objects under the given error policy.
+     *
+     * @param policy error collection policy
+     * @param results array of results
+     *
+     * @return Result
+     */
+    public Result<T> combine(ErrorPolicy policy, Result... results) {
+        ErrorPolicy.Collector collector = policy.collector(errors());
+        for (Result result : results) {
+            collector.addAll(result.errors());
+        }
+
+        return withErrors(collector.errors);
     }
 
 
@@ -217,75 +499,359 @@ public class Result<T> {
      */
     public Result<T> onSuccess(Supplier<T> t) {
 
-        if (!hasErrors()) {
-            this.value = t.get();
+        if (hasErrors()) {
+            return this;
         }
 
-        return this;
+        return of(type(), t.get(), null, false);
     }
 
 
 
     /**
-     * Helper method to add single ErrorMessage
+     * Helper method to wait for a specification evaluated on another thread;
+     * rethrows the exception thrown by the specification.
      *
-     * @param errorMessage ErrorMessage
+     * @param outcome pending specification outcome
+     * @return {@literal true} if specification is satisfied
      */
-    private void addError(ErrorMessage errorMessage) {
-        if (CollectionUtils.isEmpty(errors)) {
-            this.errors = new ArrayList<>();
+    static boolean await(CompletableFuture<Boolean> outcome) {
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
         }
+    }
+
+
+
+    /**
+     * Helper method to replace errors
+     *
+     * @param updated error messages; same instance if nothing was added
+     * @return this Result if nothing was added, otherwise new Result with the updated errors
+     */
+    Result<T> withErrors(Errors updated) {
+        return updated == errors() ? this : new Failure<>(type(), updated, isEnsureFailed());
+    }
 
-        this.errors.add(errorMessage);
+
+
+    /**
+     * Helper method to add the error of a failed ensure specification
+     *
+     * @param errorMessage ErrorMessage
+     * @return new Result with the error added and ensure marked as failed
+     */
+    Result<T> ensureFailed(ErrorMessage errorMessage) {
+        return new Failure<>(type(), Errors.append(errors(), errorMessage), true);
     }
 
 
 
     /**
-     * Helper method to adds list validate errorMessages
+     * to confirm an ensure specification failed
      *
-     * @param errorMessages List validate ErrorMessage
+     * @return boolean
      */
-    private void addErrors(List<ErrorMessage> errorMessages) {
-        if (CollectionUtils.isEmpty(errors)) {
-            this.errors = new ArrayList<>();
+    boolean isEnsureFailed() {
+        return false;
+    }
+
+
+
+    /**
+     * @return error messages, {@literal null} if there are none
+     */
+    Errors errors() {
+        return null;
+    }
+
+
+
+    /**
+     * @return class type of domain object, {@literal null} if unknown
+     */
+    abstract Class<T> type();
+
+
+
+    /**
+     * @return domain object, {@literal null} if there is none
+     */
+    T value() {
+        return null;
+    }
+
+
+
+    /**
+     * Successful result; holds nothing but the domain object.
+     */
+    private static final class Success<T> extends Result<T> {
+
+        private final T value;
+
+        private Success(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+
+        @Override
+        public T getOrElse(T other) {
+            return value;
+        }
+
+        @Override
+        public Optional<T> toOptional() {
+            return Optional.of(value);
+        }
+
+        @Override
+        public <R> R fold(Function<? super List<ErrorMessage>, ? extends R> onFailure, Function<? super T, ? extends R> onSuccess) {
+            return onSuccess.apply(value);
+        }
+
+        @Override
+        public <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+            return as(mapper.apply(value));
+        }
+
+        @Override
+        public <U> Result<U> flatMap(Function<? super T, Result<U>> mapper) {
+            return mapper.apply(value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Class<T> type() {
+            return (Class<T>) value.getClass();
         }
 
-        this.errors.addAll(errorMessages);
+        @Override
+        T value() {
+            return value;
+        }
     }
 
 
 
     /**
-     * Helper method to set #ensureFaield field to {@literal true}
-     *
-     * @see #ensureFailed
+     * Result without errors and without domain object yet, e.g. from {@link #resultFor(Class)}.
+     */
+    private static final class Pending<T> extends Result<T> {
+
+        private final Class<T> _class;
+
+        private Pending(Class<T> _class) {
+            this._class = _class;
+        }
+
+        @Override
+        Class<T> type() {
+            return _class;
+        }
+    }
+
+
+
+    /**
+     * Failed result; holds the errors but no domain object.
      */
-    private void ensureFailed() {
-        this.ensureFailed = true;
+    private static final class Failure<T> extends Result<T> {
+
+        private final Class<T> _class;
+
+        /**
+         * consolidated error messages from failed specifications
+         */
+        private final Errors errors;
+
+        /**
+         * set to {@literal true} once ensure specification is failed.
+         *
+         * @see #ensure(Specification, String, Object)
+         * @see #validateAll(Validation...)
+         */
+        private final boolean ensureFailed;
+
+        /**
+         * {@link #errors} flattened by {@link #getErrors()}; computed at most once per thread, the list itself is immutable
+         */
+        private List<ErrorMessage> errorList;
+
+        private Failure(Class<T> _class, Errors errors, boolean ensureFailed) {
+            this._class = _class;
+            this.errors = errors;
+            this.ensureFailed = ensureFailed;
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return true;
+        }
+
+        @Override
+        public List<ErrorMessage> getErrors() {
+            if (this.errorList == null) {
+                this.errorList = this.errors.toList();
+            }
+
+            return this.errorList;
+        }
+
+        @Override
+        public int getErrorCount() {
+            return errors.size;
+        }
+
+        @Override
+        boolean isEnsureFailed() {
+            return ensureFailed;
+        }
+
+        @Override
+        Errors errors() {
+            return errors;
+        }
+
+        @Override
+        Class<T> type() {
+            return _class;
+        }
     }
 
 
 
     /**
-     * Wrapper class for specification and error messages
+     * Wrapper class for specification and error messages.
+     *
+     * {@link ErrorMessage} is only created once the specification failed; message and actual value
+     * given as suppliers are only computed then as well.
      */
     public static class Validation {
 
-        private Specification specification;
-        private ErrorMessage errorMessage;
+        private final Specification specification;
+        private final TypedSpecification<Object> typedSpecification;
+        private final String message;
+        private final Object actualValue;
 
-        private Validation(Specification specification, ErrorMessage errorMessage) {
+        private Validation(Specification specification, TypedSpecification<Object> typedSpecification, String message, Object actualValue) {
             this.specification = specification;
-            this.errorMessage = errorMessage;
+            this.typedSpecification = typedSpecification;
+            this.message = message;
+            this.actualValue = actualValue;
         }
 
         public static Validation validate(Specification specification, String message) {
-            return validate(specification, message, null);
+            return validate(specification, message, (Object) null);
         }
 
         public static Validation validate(Specification specification, String message, Object actualValue) {
-            return new Validation(specification, new ErrorMessage(message, actualValue));
+            return new Validation(specification, null, message, actualValue);
+        }
+
+        /**
+         * actual value is only computed once the specification failed, e.g. to avoid boxing primitives.
+         */
+        public static Validation validate(Specification specification, String message, Supplier<?> actualValue) {
+            return new Deferred(specification, () -> message, actualValue);
+        }
+
+        /**
+         * message and actual value are only computed once the specification failed.
+         */
+        public static Validation validate(Specification specification, Supplier<String> message, Supplier<?> actualValue) {
+            return new Deferred(specification, Objects.requireNonNull(message, "message"), actualValue);
+        }
+
+        public static Validation validate(Specification specification, MessageTemplate template) {
+            return validate(specification, template, null);
+        }
+
+        /**
+         * coded validation; the error message keeps the template and arguments and is rendered when read.
+         *
+         * @see MessageTemplate
+         */
+        public static Validation validate(Specification specification, MessageTemplate template, Object actualValue, Object... arguments) {
+            return new CodedValidation(specification, Objects.requireNonNull(template, "template"), actualValue, arguments);
+        }
+
+        /**
+         * typed specification validation; candidate is used as actual value of the error message.
+         */
+        @SuppressWarnings("unchecked")
+        public static <V> Validation validate(TypedSpecification<? super V> specification, V candidate, String message) {
+            return new Validation(null, (TypedSpecification<Object>) specification, message, candidate);
+        }
+
+        boolean isSatisfied() {
+            return specification != null
+                    ? specification.isSatisfied()
+                    : typedSpecification.isSatisfiedBy(actualValue);
+        }
+
+        ErrorMessage errorMessage() {
+            return new ErrorMessage(message, actualValue);
+        }
+
+        /**
+         * @param errors error messages so far, {@literal null} if there are none
+         * @return errors with this validation's error appended if its specification failed, otherwise errors itself
+         */
+        Errors validate(Errors errors) {
+            return isSatisfied() ? errors : Errors.append(errors, errorMessage());
+        }
+
+        /**
+         * Validation with {@link MessageTemplate} code instead of message.
+         */
+        private static final class CodedValidation extends Validation {
+
+            private final MessageTemplate template;
+            private final Object[] arguments;
+
+            private CodedValidation(Specification specification, MessageTemplate template, Object actualValue, Object[] arguments) {
+                super(specification, null, null, actualValue);
+                this.template = template;
+                this.arguments = arguments;
+            }
+
+            @Override
+            ErrorMessage errorMessage() {
+                return ErrorMessage.coded(template, super.actualValue, arguments);
+            }
+        }
+
+        /**
+         * Validation with message and actual value computed on failure.
+         */
+        private static final class Deferred extends Validation {
+
+            private final Supplier<String> message;
+            private final Supplier<?> actualValue;
+
+            private Deferred(Specification specification, Supplier<String> message, Supplier<?> actualValue) {
+                super(specification, null, null, null);
+                this.message = message;
+                this.actualValue = actualValue;
+            }
+
+            @Override
+            ErrorMessage errorMessage() {
+                return new ErrorMessage(message.get(), ErrorMessage.get(actualValue));
+            }
         }
     }
 
@@ -293,52 +859,158 @@ public class Result<T> {
 
     /**
      * Error message data object
+     *
+     * Either holds free-form text, or a {@link MessageTemplate} code with arguments rendered when the message is read.
      */
     public static class ErrorMessage {
 
-        private String message;
+        /**
+         * code of free-form error messages
+         */
+        public static final int NO_CODE = 0;
+
+        private final String message;
 
-        private Object actualValue;
+        private final Object actualValue;
 
-        private ErrorMessage(String message, Object actualValue) {
+        ErrorMessage(String message, Object actualValue) {
             this.message = message;
             this.actualValue = actualValue;
         }
 
+        /**
+         * @param template interned message template
+         * @param actualValue actual value being validated
+         * @param arguments template arguments
+         * @return coded ErrorMessage
+         */
+        static ErrorMessage coded(MessageTemplate template, Object actualValue, Object[] arguments) {
+            return new Coded(template, actualValue, arguments);
+        }
+
         public String getMessage() {
             return message;
         }
 
+        /**
+         * @return {@link MessageTemplate#getCode()} of coded messages, {@link #NO_CODE} for free-form ones
+         */
+        public int getCode() {
+            return NO_CODE;
+        }
+
         public Object getActualValue() {
             return actualValue;
         }
 
+        /**
+         * @param actualValue actual value supplier, may be {@literal null}
+         * @return supplied actual value, {@literal null} without supplier
+         */
+        static Object get(Supplier<?> actualValue) {
+            return actualValue == null ? null : actualValue.get();
+        }
+
+        /**
+         * @return template of coded messages, {@literal null} for free-form ones
+         */
+        MessageTemplate template() {
+            return null;
+        }
+
+        /**
+         * @return template arguments of coded messages, {@literal null} for free-form ones
+         */
+        Object[] arguments() {
+            return null;
+        }
+
+        /**
+         * Helper method to write the message text without creating it first; used by {@link ResultJsonWriter}.
+         *
+         * @param out escaping output
+         * @throws IOException if out fails
+         */
+        void writeMessage(Appendable out) throws IOException {
+            out.append(message);
+        }
+
+        /**
+         * @see ResultJsonWriter#write(ErrorMessage, Appendable)
+         */
         @Override
         public String toString() {
-            return "{\"message\": \"" + this.getMessage() + "\", \"actualValue\": \"" + this.getActualValue() + "\"}";
+            return ResultJsonWriter.toString(this);
         }
 
+
+        /**
+         * Error message referencing an interned template; rendered on every {@link #getMessage()}.
+         */
+        private static final class Coded extends ErrorMessage {
+
+            private static final Object[] NO_ARGUMENTS = new Object[0];
+
+            private final MessageTemplate template;
+            private final Object[] arguments;
+
+            private Coded(MessageTemplate template, Object actualValue, Object[] arguments) {
+                super(null, actualValue);
+                this.template = Objects.requireNonNull(template, "template");
+                this.arguments = arguments == null || arguments.length == 0 ? NO_ARGUMENTS : arguments;
+            }
+
+            @Override
+            public String getMessage() {
+                return template.render(arguments);
+            }
+
+            @Override
+            public int getCode() {
+                return template.getCode();
+            }
+
+            @Override
+            MessageTemplate template() {
+                return template;
+            }
+
+            @Override
+            Object[] arguments() {
+                return arguments;
+            }
+
+            @Override
+            void writeMessage(Appendable out) throws IOException {
+                template.render(arguments, out);
+            }
+        }
     }
 
 
 
     /**
      * Exception used to indicate no success value in the result.
+     *
+     * Doesn't capture a stack trace, so a failing {@link #get()} stays cheap; use {@link #fold(Function, Function)},
+     * {@link #getOrElse(Object)} or {@link #toOptional()} to avoid it altogether.
      */
     public static class HasNoSuccessValueException extends RuntimeException {
 
         private static final long serialVersionUID = 2988214818106116301L;
         private static final String MESSAGE = "Result has no success value.";
 
-        @Override
-        public String getMessage() {
-            return MESSAGE;
+        public HasNoSuccessValueException() {
+            super(MESSAGE, null, false, false);
         }
     }
 
 
+    /**
+     * @see ResultJsonWriter#write(Result, Appendable)
+     */
     @Override
     public String toString() {
-        return "{\"_class\": \"" + this._class + "\", \"value\": \"" + this.value + "\", \"errors\": " + this.getErrors() + ", \"ensureFailed\": " + this.ensureFailed + "}";
+        return ResultJsonWriter.toString(this);
     }
 }
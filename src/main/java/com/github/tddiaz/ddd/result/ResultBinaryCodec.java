@@ -0,0 +1,422 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link Result} errors, for services passing validation results to each other.
+ *
+ * Layout, every number being an unsigned varint unless stated otherwise:
+ *
+ * <pre>
+ *     result      = version flags strings errorCount error* counted
+ *     flags       = bit 0 set if an ensure specification failed
+ *     strings     = count (byteLength utf8Bytes)*     every distinct message, template and string value once
+ *     error       = code (messageIndex | templateIndex argumentCount value*) value
+ *                   code 0 is a free-form message, any other code a {@link MessageTemplate} followed by its arguments;
+ *                   the trailing value is the actual value
+ *     value       = tag [payload]
+ *                   0 null, 1 string index, 2 int and 3 long as zigzag varint, 4 false, 5 true, 6 double as 8 bytes,
+ *                   7 any other object as the string index of its toString()
+ *     counted     = number of errors counted without a message, see {@link ErrorPolicy#countOnly()}
+ * </pre>
+ *
+ * Only errors are encoded; a decoded Result without errors has no value. The decoder reads straight from the buffer
+ * and decodes every table string once, so repeated messages are shared by the decoded errors.
+ *
+ * @author Tristan Diaz
+ */
+public final class ResultBinaryCodec {
+
+    private static final int VERSION = 1;
+
+    private static final int ENSURE_FAILED = 1;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int FALSE = 4;
+    private static final int TRUE = 5;
+    private static final int DOUBLE = 6;
+    private static final int OTHER = 7;
+
+
+
+    private ResultBinaryCodec() {
+    }
+
+
+
+    /**
+     * Encodes errors of given result.
+     *
+     * @param result Result
+     * @return encoded bytes
+     */
+    public static byte[] encode(Result<?> result) {
+        Output out = new Output();
+        encode(result, out);
+        return Arrays.copyOf(out.bytes, out.length);
+    }
+
+
+
+    /**
+     * Encodes errors of given result at the buffer's position.
+     *
+     * @param result Result
+     * @param buffer byte buffer
+     * @throws BufferOverflowException if the encoding doesn't fit; the buffer's position is left unchanged
+     */
+    public static void encode(Result<?> result, ByteBuffer buffer) {
+        Output out = new Output();
+        encode(result, out);
+
+        if (buffer.remaining() < out.length) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put(out.bytes, 0, out.length);
+    }
+
+
+
+    /**
+     * Decodes result encoded by {@link #encode(Result)} from the buffer's position; advances the position past it.
+     *
+     * @param buffer byte buffer
+     * @param _class class type of domain object
+     * @param <T> domain object type
+     * @return Result with the decoded errors, or Result without errors and value
+     * @throws IllegalArgumentException if the buffer doesn't hold a supported encoding
+     * @throws java.nio.BufferUnderflowException if the encoding is truncated
+     */
+    public static <T> Result<T> decode(ByteBuffer buffer, Class<T> _class) {
+        int version = readVarint(buffer);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported version: " + version);
+        }
+
+        int flags = readVarint(buffer);
+
+        String[] strings = new String[readCount(buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(buffer);
+        }
+
+        Map<Integer, MessageTemplate> templates = new HashMap<>();
+        Errors errors = null;
+
+        for (int count = readCount(buffer); count > 0; count--) {
+            int code = readVarint(buffer);
+
+            if (code == ErrorMessage.NO_CODE) {
+                String message = string(strings, readVarint(buffer));
+                errors = Errors.append(errors, new ErrorMessage(message, readValue(buffer, strings)));
+                continue;
+            }
+
+            String text = string(strings, readVarint(buffer));
+            MessageTemplate template = templates.computeIfAbsent(code, c -> MessageTemplate.resolve(c, text));
+
+            Object[] arguments = new Object[readCount(buffer)];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = readValue(buffer, strings);
+            }
+
+            errors = Errors.append(errors, ErrorMessage.coded(template, readValue(buffer, strings), arguments));
+        }
+
+        int counted = readVarint(buffer);
+        if (counted > Integer.MAX_VALUE - (errors == null ? 0 : errors.size)) {
+            throw new IllegalArgumentException("error count exceeds int: " + counted);
+        }
+        if (counted > 0) {
+            errors = Errors.count(errors, counted);
+        }
+
+        return Result.of(_class, null, errors, (flags & ENSURE_FAILED) != 0);
+    }
+
+
+
+    private static void encode(Result<?> result, Output out) {
+        List<ErrorMessage> errors = result.getErrors();
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (ErrorMessage error : errors) {
+            if (error.template() == null) {
+                intern(strings, error.getMessage());
+            } else {
+                intern(strings, error.template().getTemplate());
+                for (Object argument : error.arguments()) {
+                    internValue(strings, argument);
+                }
+            }
+            internValue(strings, error.getActualValue());
+        }
+
+        out.writeVarint(VERSION);
+        out.writeVarint(result.isEnsureFailed() ? ENSURE_FAILED : 0);
+
+        out.writeVarint(strings.size());
+        for (String string : strings.keySet()) {
+            out.writeString(string);
+        }
+
+        out.writeVarint(errors.size());
+        for (ErrorMessage error : errors) {
+            MessageTemplate template = error.template();
+
+            if (template == null) {
+                out.writeVarint(ErrorMessage.NO_CODE);
+                out.writeVarint(strings.get(String.valueOf(error.getMessage())));
+            } else {
+                out.writeVarint(template.getCode());
+                out.writeVarint(strings.get(template.getTemplate()));
+                out.writeVarint(error.arguments().length);
+                for (Object argument : error.arguments()) {
+                    writeValue(out, strings, argument);
+                }
+            }
+
+            writeValue(out, strings, error.getActualValue());
+        }
+
+        out.writeVarint(result.getErrorCount() - errors.size());
+    }
+
+
+
+    private static void intern(Map<String, Integer> strings, String string) {
+        strings.putIfAbsent(String.valueOf(string), strings.size());
+    }
+
+
+
+    private static void internValue(Map<String, Integer> strings, Object value) {
+        if (value != null && !(value instanceof Integer) && !(value instanceof Long)
+                && !(value instanceof Boolean) && !(value instanceof Double)) {
+            intern(strings, value.toString());
+        }
+    }
+
+
+
+    private static void writeValue(Output out, Map<String, Integer> strings, Object value) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeVarlong(zigzag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeVarlong(zigzag((Long) value));
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else {
+            out.writeByte(value instanceof String ? STRING : OTHER);
+            out.writeVarint(strings.get(value.toString()));
+        }
+    }
+
+
+
+    private static Object readValue(ByteBuffer buffer, String[] strings) {
+        int tag = buffer.get();
+
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+            case OTHER:
+                return string(strings, readVarint(buffer));
+            case INT:
+                return (int) unzigzag(readVarlong(buffer));
+            case LONG:
+                return unzigzag(readVarlong(buffer));
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case DOUBLE:
+                return Double.longBitsToDouble(readLong(buffer));
+            default:
+                throw new IllegalArgumentException("unknown value tag: " + tag);
+        }
+    }
+
+
+
+    private static String string(String[] strings, int index) {
+        if (index >= strings.length) {
+            throw new IllegalArgumentException("string index out of range: " + index);
+        }
+
+        return strings[index];
+    }
+
+
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("string length exceeds buffer: " + length);
+        }
+
+        if (buffer.hasArray()) {
+            String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            ((Buffer) buffer).position(buffer.position() + length);
+            return string;
+        }
+
+        ByteBuffer bytes = buffer.slice();
+        ((Buffer) bytes).limit(length);
+        ((Buffer) buffer).position(buffer.position() + length);
+
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(bytes);
+            return chars.toString();
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException("malformed string", e);
+        }
+    }
+
+
+
+    /**
+     * reads the count of the entries that follow; every entry takes at least one byte, so a larger count
+     * than the remaining bytes is rejected before anything is allocated for it
+     */
+    private static int readCount(ByteBuffer buffer) {
+        int count = readVarint(buffer);
+
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("count exceeds buffer: " + count);
+        }
+
+        return count;
+    }
+
+
+
+    private static int readVarint(ByteBuffer buffer) {
+        long value = readVarlong(buffer);
+
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("varint out of int range: " + Long.toUnsignedString(value));
+        }
+
+        return (int) value;
+    }
+
+
+
+    private static long readVarlong(ByteBuffer buffer) {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+
+
+    /**
+     * reads big-endian long regardless of the buffer's byte order
+     */
+    private static long readLong(ByteBuffer buffer) {
+        long value = 0;
+
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | buffer.get() & 0xFF;
+        }
+
+        return value;
+    }
+
+
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+
+    /**
+     * Growable output buffer
+     */
+    private static final class Output {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        private void writeByte(int b) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) b;
+        }
+
+        private void writeVarint(int value) {
+            writeVarlong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarlong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeString(String string) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import com.github.tddiaz.ddd.result.Result.Validation;
+import com.github.tddiaz.ddd.specification.Specification;
+import com.github.tddiaz.ddd.specification.TypedSpecification;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Mutable, thread-confined counterpart of {@link Result}; accumulates errors in place and is frozen
+ * into an immutable Result by {@link #build()}.
+ *
+ * Not thread-safe; meant to be used by a single thread, e.g. inside a factory method or a loop.
+ * The builder can still be used after {@link #build()}; built results are not affected.
+ *
+ * <pre>
+ *     ResultBuilder&lt;Order&gt; builder = ResultBuilder.resultFor(Order.class);
+ *     for (OrderLine line : lines) {
+ *         builder.validateAll(validate(() -&gt; line.quantity() &gt; 0, "invalid quantity", line.quantity()));
+ *     }
+ *     Result&lt;Order&gt; result = builder.onSuccess(() -&gt; new Order(lines)).build();
+ * </pre>
+ *
+ * @author Tristan Diaz
+ */
+public final class ResultBuilder<T> {
+
+    /**
+     * class type of domain object
+     */
+    private final Class<T> _class;
+
+    /**
+     *  domain object as value
+     */
+    private T value;
+
+    /**
+     * consolidated error messages from failed specifications, collected under the builder's error policy
+     */
+    private final ErrorPolicy.Collector errors;
+
+    /**
+     * set to {@literal true} once ensure specification is failed.
+     */
+    private boolean ensureFailed;
+
+
+
+    /**
+     * private constructor; accepts domain object class
+     *
+     * @param _class class type of domain object.
+     * @param policy error collection policy
+     */
+    private ResultBuilder(Class<T> _class, ErrorPolicy policy) {
+        this._class = _class;
+        this.errors = Objects.requireNonNull(policy, "policy").collector(null);
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns ResultBuilder instance with given class type of domain object
+     *
+     * @param _class class type of domain object.
+     * @param <T> domain object type
+     * @return ResultBuilder instance
+     */
+    public static <T> ResultBuilder<T> resultFor(Class<T> _class) {
+        return new ResultBuilder<>(_class, ErrorPolicy.all());
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns ResultBuilder instance recording errors under the given policy
+     *
+     * @param _class class type of domain object.
+     * @param policy error collection policy, e.g. {@link ErrorPolicy#maxErrors(int)}
+     * @param <T> domain object type
+     * @return ResultBuilder instance
+     */
+    public static <T> ResultBuilder<T> resultFor(Class<T> _class, ErrorPolicy policy) {
+        return new ResultBuilder<>(_class, policy);
+    }
+
+
+
+    /**
+     * to confirm errors were added
+     *
+     * @return boolean
+     */
+    public boolean hasErrors() {
+        return errors.errors != null;
+    }
+
+
+
+    /**
+     * @see #ensure(Specification, String, Object)
+     */
+    public ResultBuilder<T> ensure(Specification specification, String message) {
+        return ensure(specification, message, (Object) null);
+    }
+
+
+
+    /**
+     * @see Result#ensure(Specification, String, Object)
+     */
+    public ResultBuilder<T> ensure(Specification specification, String message, Object actualValue) {
+
+        if (!hasErrors() && !specification.isSatisfied()) {
+            ensureFailed(new ErrorMessage(message, actualValue));
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see Result#ensure(Specification, String, Supplier)
+     */
+    public ResultBuilder<T> ensure(Specification specification, String message, Supplier<?> actualValue) {
+
+        if (!hasErrors() && !specification.isSatisfied()) {
+            ensureFailed(new ErrorMessage(message, ErrorMessage.get(actualValue)));
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see Result#ensure(Specification, Supplier, Supplier)
+     */
+    public ResultBuilder<T> ensure(Specification specification, Supplier<String> message, Supplier<?> actualValue) {
+
+        if (!hasErrors() && !specification.isSatisfied()) {
+            ensureFailed(new ErrorMessage(message.get(), ErrorMessage.get(actualValue)));
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see Result#ensure(TypedSpecification, Object, String)
+     */
+    public <V> ResultBuilder<T> ensure(TypedSpecification<? super V> specification, V candidate, String message) {
+
+        if (!hasErrors() && !specification.isSatisfiedBy(candidate)) {
+            ensureFailed(new ErrorMessage(message, candidate));
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see Result#validateAll(Validation...)
+     */
+    public ResultBuilder<T> validateAll(Validation... validations) {
+
+        if (ensureFailed) {
+            return this;
+        }
+
+        for (Validation validation : validations) {
+            if (!errors.accepts()) {
+                break;
+            }
+            if (!validation.isSatisfied()) {
+                errors.add(validation::errorMessage);
+            }
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see Result#combine(Result...)
+     */
+    public ResultBuilder<T> combine(Result... results) {
+        for (Result result : results) {
+            errors.addAll(result.errors());
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * @see #addError(String, Object)
+     */
+    public ResultBuilder<T> addError(String message) {
+        return addError(message, null);
+    }
+
+
+
+    /**
+     * Adds error unconditionally
+     *
+     * @param message error message
+     * @param actualValue actual value being validated
+     * @return ResultBuilder
+     */
+    public ResultBuilder<T> addError(String message, Object actualValue) {
+        return addError(new ErrorMessage(message, actualValue));
+    }
+
+
+
+    /**
+     * Adds coded error unconditionally
+     *
+     * @param template interned message template
+     * @param actualValue actual value being validated
+     * @param arguments template arguments
+     * @return ResultBuilder
+     */
+    public ResultBuilder<T> addError(MessageTemplate template, Object actualValue, Object... arguments) {
+        return addError(ErrorMessage.coded(template, actualValue, arguments));
+    }
+
+
+
+    /**
+     * @see Result#onSuccess(Supplier)
+     */
+    public ResultBuilder<T> onSuccess(Supplier<T> t) {
+
+        if (!hasErrors()) {
+            this.value = t.get();
+        }
+
+        return this;
+    }
+
+
+
+    /**
+     * Freezes accumulated errors and value into an immutable Result
+     *
+     * @return Result
+     */
+    public Result<T> build() {
+        return Result.of(_class, hasErrors() ? null : value, errors.errors, ensureFailed);
+    }
+
+
+
+    /**
+     * Helper method to add single ErrorMessage
+     *
+     * @param errorMessage ErrorMessage
+     * @return ResultBuilder
+     */
+    ResultBuilder<T> addError(ErrorMessage errorMessage) {
+        errors.add(errorMessage);
+        return this;
+    }
+
+
+
+    /**
+     * Helper method to add the error of a failed ensure specification
+     *
+     * @param errorMessage ErrorMessage
+     * @return ResultBuilder
+     */
+    ResultBuilder<T> ensureFailed(ErrorMessage errorMessage) {
+        ensureFailed = true;
+        return addError(errorMessage);
+    }
+}
@@ -0,0 +1,365 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Streaming JSON serializer for {@link Result} and {@link ErrorMessage}.
+ *
+ * Writes straight to the given {@link Appendable}, {@link OutputStream} or {@link ByteBuffer} with escaped strings;
+ * messages of coded errors are rendered into the output without creating their text first. Streams and buffers
+ * are fed UTF-8 through reusable per-thread buffers.
+ *
+ * <pre>
+ *     {"_class": "class Order", "value": "null", "errors": [{"code": 1001, "message": "quantity must be at most 10", "actualValue": "12"}], "ensureFailed": false}
+ * </pre>
+ *
+ * {@code "code"} is only written for coded errors, see {@link MessageTemplate}. {@code "errorCount"} is only written
+ * when errors were counted without a message, see {@link ErrorPolicy#countOnly()}; it includes the listed errors.
+ * Thread-safe.
+ *
+ * @author Tristan Diaz
+ */
+public final class ResultJsonWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+
+
+    private ResultJsonWriter() {
+    }
+
+
+
+    /**
+     * Writes result as JSON.
+     *
+     * @param result Result
+     * @param out output
+     * @throws IOException if out fails
+     */
+    public static void write(Result<?> result, Appendable out) throws IOException {
+        new JsonOutput(out).result(result);
+    }
+
+
+
+    /**
+     * Writes error message as JSON.
+     *
+     * @param errorMessage ErrorMessage
+     * @param out output
+     * @throws IOException if out fails
+     */
+    public static void write(ErrorMessage errorMessage, Appendable out) throws IOException {
+        new JsonOutput(out).errorMessage(errorMessage);
+    }
+
+
+
+    /**
+     * Writes result as UTF-8 encoded JSON; doesn't flush or close the stream.
+     *
+     * @param result Result
+     * @param out output stream
+     * @throws IOException if out fails
+     */
+    public static void write(Result<?> result, OutputStream out) throws IOException {
+        Buffers buffers = Buffers.acquire();
+        try {
+            write(result, buffers.chars);
+            encode(buffers.chars, buffers.bytes, (bytes, length) -> out.write(bytes, 0, length));
+        } finally {
+            buffers.release();
+        }
+    }
+
+
+
+    /**
+     * Writes result as UTF-8 encoded JSON at the buffer's position.
+     *
+     * @param result Result
+     * @param out byte buffer
+     * @throws BufferOverflowException if the JSON doesn't fit; the buffer's position is left unchanged
+     */
+    public static void write(Result<?> result, ByteBuffer out) {
+        int start = out.position();
+
+        Buffers buffers = Buffers.acquire();
+        try {
+            write(result, buffers.chars);
+            encode(buffers.chars, buffers.bytes, (bytes, length) -> {
+                if (out.remaining() < length) {
+                    ((Buffer) out).position(start);
+                    throw new BufferOverflowException();
+                }
+                out.put(bytes, 0, length);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffers.release();
+        }
+    }
+
+
+
+    /**
+     * @see Result#toString()
+     */
+    static String toString(Result<?> result) {
+        Buffers buffers = Buffers.acquire();
+        try {
+            write(result, buffers.chars);
+            return buffers.chars.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffers.release();
+        }
+    }
+
+
+
+    /**
+     * @see ErrorMessage#toString()
+     */
+    static String toString(ErrorMessage errorMessage) {
+        Buffers buffers = Buffers.acquire();
+        try {
+            write(errorMessage, buffers.chars);
+            return buffers.chars.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffers.release();
+        }
+    }
+
+
+
+    /**
+     * Encodes chars as UTF-8, chunk by chunk; unpaired surrogates are encoded as {@code '?'}.
+     *
+     * @param chars text to encode
+     * @param bytes chunk buffer
+     * @param sink receives every encoded chunk
+     */
+    private static void encode(CharSequence chars, byte[] bytes, ByteSink sink) throws IOException {
+        int length = 0;
+
+        for (int i = 0; i < chars.length(); i++) {
+            if (length > bytes.length - 4) {
+                sink.write(bytes, length);
+                length = 0;
+            }
+
+            char c = chars.charAt(i);
+
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | c >> 6);
+                bytes[length++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                bytes[length++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bytes[length++] = '?';
+            } else {
+                bytes[length++] = (byte) (0xE0 | c >> 12);
+                bytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[length++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        sink.write(bytes, length);
+    }
+
+
+
+    /**
+     * JSON output; text appended through the {@link Appendable} methods is escaped.
+     */
+    private static final class JsonOutput implements Appendable {
+
+        /**
+         * output; escaped when written through the {@link Appendable} methods
+         */
+        private final Appendable out;
+
+        private JsonOutput(Appendable out) {
+            this.out = out;
+        }
+
+        private void result(Result<?> result) throws IOException {
+            out.append("{\"_class\": ");
+            string(result.type());
+            out.append(", \"value\": ");
+            string(result.value());
+            out.append(", \"errors\": [");
+
+            List<ErrorMessage> errors = result.getErrors();
+            for (int i = 0; i < errors.size(); i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                errorMessage(errors.get(i));
+            }
+
+            out.append(']');
+
+            if (result.getErrorCount() != errors.size()) {
+                out.append(", \"errorCount\": ").append(Integer.toString(result.getErrorCount()));
+            }
+
+            out.append(", \"ensureFailed\": ").append(result.isEnsureFailed() ? "true" : "false").append('}');
+        }
+
+        private void errorMessage(ErrorMessage errorMessage) throws IOException {
+            out.append('{');
+
+            if (errorMessage.getCode() != ErrorMessage.NO_CODE) {
+                out.append("\"code\": ").append(Integer.toString(errorMessage.getCode())).append(", ");
+            }
+
+            out.append("\"message\": \"");
+            errorMessage.writeMessage(this);
+            out.append("\", \"actualValue\": ");
+            string(errorMessage.getActualValue());
+            out.append('}');
+        }
+
+        /**
+         * writes value as quoted string, {@literal null} as {@code "null"}
+         */
+        private void string(Object value) throws IOException {
+            out.append('"');
+            append(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+            out.append('"');
+        }
+
+        /**
+         * appends escaped text of a JSON string
+         */
+        @Override
+        public JsonOutput append(CharSequence text) throws IOException {
+            CharSequence escaped = text == null ? "null" : text;
+            return append(escaped, 0, escaped.length());
+        }
+
+        @Override
+        public JsonOutput append(CharSequence text, int start, int end) throws IOException {
+            CharSequence escaped = text == null ? "null" : text;
+
+            int unescaped = start;
+            for (int i = start; i < end; i++) {
+                char c = escaped.charAt(i);
+
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    continue;
+                }
+
+                out.append(escaped, unescaped, i);
+                escape(c);
+                unescaped = i + 1;
+            }
+
+            out.append(escaped, unescaped, end);
+            return this;
+        }
+
+        @Override
+        public JsonOutput append(char c) throws IOException {
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                out.append(c);
+            } else {
+                escape(c);
+            }
+            return this;
+        }
+
+        private void escape(char c) throws IOException {
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+    }
+
+
+
+    private interface ByteSink {
+
+        void write(byte[] bytes, int length) throws IOException;
+    }
+
+
+
+    /**
+     * Per-thread buffers; a nested write on the same thread, e.g. from an actual value's toString(), gets its own.
+     */
+    private static final class Buffers {
+
+        private final StringBuilder chars = new StringBuilder(256);
+        private final byte[] bytes = new byte[CHUNK_SIZE];
+        private boolean inUse;
+
+        private static Buffers acquire() {
+            Buffers buffers = BUFFERS.get();
+
+            if (buffers.inUse) {
+                buffers = new Buffers();
+            }
+
+            buffers.inUse = true;
+            buffers.chars.setLength(0);
+            return buffers;
+        }
+
+        private void release() {
+            inUse = false;
+
+            if (chars.capacity() > 16 * CHUNK_SIZE) {
+                chars.setLength(0);
+                chars.trimToSize();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.tddiaz.ddd.result;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for running I/O-bound specifications, e.g. uniqueness or referential checks hitting a database.
+ *
+ * @see Result#validateAllParallel(Executor, Result.Validation...)
+ * @see Validator#apply(Object, Executor)
+ *
+ * @author Tristan Diaz
+ */
+public final class ValidationExecutors {
+
+    private ValidationExecutors() {
+    }
+
+
+
+    /**
+     * returns shared executor starting one virtual thread per validation.
+     *
+     * Virtual threads are looked up at runtime, so this library keeps its Java 8 baseline;
+     * on runtimes without virtual threads (before Java 21) falls back to a cached pool of daemon platform threads.
+     *
+     * @return executor
+     */
+    public static Executor virtualThreads() {
+        return Holder.EXECUTOR;
+    }
+
+
+
+    /**
+     * to confirm {@link #virtualThreads()} is backed by virtual threads
+     *
+     * @return boolean
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return Holder.VIRTUAL;
+    }
+
+
+
+    /**
+     * Lazily initialized shared executor
+     */
+    private static final class Holder {
+
+        private static final boolean VIRTUAL;
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            VIRTUAL = executor != null;
+            EXECUTOR = VIRTUAL ? executor : newDaemonCachedThreadPool();
+        }
+
+        private static ExecutorService newVirtualThreadPerTaskExecutor() {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        private static ExecutorService newDaemonCachedThreadPool() {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "validation-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import com.github.tddiaz.ddd.specification.TypedSpecification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Compiled set of validation rules for a domain entity or value object.
+ *
+ * Rules are {@link TypedSpecification}s defined once and applied to many candidates; mirrors {@link Result#ensure} and {@link Result#validateAll}.
+ * Instances are immutable and thread-safe as long as the given rules are, so a validator can be kept as a static singleton.
+ *
+ * <pre>
+ *     private static final Validator&lt;Email&gt; VALIDATOR = Validator.builder(Email.class)
+ *             .ensure(email -&gt; email.value != null, "email is required")
+ *             .validate(email -&gt; email.value.contains("@"), "invalid email", email -&gt; email.value)
+ *             .build();
+ *
+ *     Result&lt;Email&gt; result = VALIDATOR.apply(email);
+ * </pre>
+ *
+ * @author Tristan Diaz
+ */
+public final class Validator<T> {
+
+    /**
+     * class type of domain object
+     */
+    private final Class<T> _class;
+
+    /**
+     * gating rules in evaluation order, or in declaration order when {@link #adaptivePlan} is set;
+     * first failure stops further validation
+     *
+     * @see Result#ensure(com.github.tddiaz.ddd.specification.Specification, String, Object)
+     */
+    private final Rule<T>[] ensureRules;
+
+    /**
+     * runtime evaluation order of {@link #ensureRules}; {@literal null} unless adaptive ordering is enabled
+     */
+    private final AdaptivePlan adaptivePlan;
+
+    /**
+     * rules evaluated all together once every ensure rule is satisfied
+     *
+     * @see Result#validateAll(Result.Validation...)
+     */
+    private final Rule<T>[] validationRules;
+
+    /**
+     * decides which errors of validation rules are recorded
+     */
+    private final ErrorPolicy policy;
+
+
+
+    private Validator(Class<T> _class, Rule<T>[] ensureRules, AdaptivePlan adaptivePlan, Rule<T>[] validationRules, ErrorPolicy policy) {
+        this._class = _class;
+        this.ensureRules = ensureRules;
+        this.adaptivePlan = adaptivePlan;
+        this.validationRules = validationRules;
+        this.policy = policy;
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns Builder instance for given class type of domain object
+     *
+     * @param _class class type of domain object.
+     * @param <T> domain object type
+     * @return Builder instance
+     */
+    public static <T> Builder<T> builder(Class<T> _class) {
+        return new Builder<>(_class);
+    }
+
+
+
+    /**
+     * Validates given domain object against every rule.
+     *
+     * @param candidate domain object
+     * @return Result with candidate as value when every rule is satisfied, otherwise Result with errors
+     */
+    public Result<T> apply(T candidate) {
+
+        Result<T> failure = ensure(candidate);
+
+        if (failure != null) {
+            return failure;
+        }
+
+        return result(candidate, validate(candidate));
+    }
+
+
+
+    /**
+     * Validates given domain object; ensure rules are evaluated on the caller thread and once every one
+     * of them is satisfied, validation rules are evaluated concurrently on the given executor.
+     * Blocks until every validation rule is evaluated.
+     *
+     * Errors are added in declaration order, same as {@link #apply(Object)}.
+     *
+     * @param candidate domain object
+     * @param executor executor evaluating the validation rules, e.g. {@link ValidationExecutors#virtualThreads()}
+     * @return Result with candidate as value when every rule is satisfied, otherwise Result with errors
+     */
+    @SuppressWarnings("unchecked")
+    public Result<T> apply(T candidate, Executor executor) {
+
+        Result<T> failure = ensure(candidate);
+
+        if (failure != null) {
+            return failure;
+        }
+
+        CompletableFuture<Boolean>[] outcomes = new CompletableFuture[validationRules.length];
+        for (int i = 0; i < validationRules.length; i++) {
+            TypedSpecification<? super T> specification = validationRules[i].specification;
+            outcomes[i] = CompletableFuture.supplyAsync(() -> specification.isSatisfiedBy(candidate), executor);
+        }
+
+        ErrorPolicy.Collector errors = policy.collector(null);
+
+        for (int i = 0; i < validationRules.length && errors.accepts(); i++) {
+            if (!Result.await(outcomes[i])) {
+                Rule<T> rule = validationRules[i];
+                errors.add(() -> rule.errorMessage(candidate));
+            }
+        }
+
+        return result(candidate, errors.errors);
+    }
+
+
+
+    /**
+     * Validates given domain object without creating a Result; used by {@link BatchValidator}.
+     *
+     * @param candidate domain object
+     * @return errors in declaration order under {@link #policy}, {@literal null} when every rule is satisfied
+     */
+    Errors errorsOf(T candidate) {
+
+        for (Rule<T> rule : ensureRules) {
+            if (!rule.specification.isSatisfiedBy(candidate)) {
+                ErrorPolicy.Collector errors = policy.collector(null);
+                errors.add(() -> rule.errorMessage(candidate));
+                return errors.errors;
+            }
+        }
+
+        return validate(candidate);
+    }
+
+
+
+    /**
+     * Helper method to evaluate validation rules in declaration order under {@link #policy}
+     *
+     * @param candidate domain object
+     * @return errors of the validation rules, {@literal null} if every one is satisfied
+     */
+    private Errors validate(T candidate) {
+        ErrorPolicy.Collector errors = policy.collector(null);
+
+        for (Rule<T> rule : validationRules) {
+            if (!errors.accepts()) {
+                break;
+            }
+            if (!rule.specification.isSatisfiedBy(candidate)) {
+                errors.add(() -> rule.errorMessage(candidate));
+            }
+        }
+
+        return errors.errors;
+    }
+
+
+
+    /**
+     * Helper method to evaluate ensure rules in declaration order
+     *
+     * @param candidate domain object
+     * @return Result with the error of first failed ensure rule, {@literal null} if every ensure rule is satisfied
+     */
+    private Result<T> ensure(T candidate) {
+
+        if (adaptivePlan != null) {
+            return ensureAdaptively(candidate);
+        }
+
+        for (Rule<T> rule : ensureRules) {
+            if (!rule.specification.isSatisfiedBy(candidate)) {
+                return ensureFailed(rule, candidate);
+            }
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * Helper method to evaluate ensure rules in the order planned by {@link #adaptivePlan}; sampled validations
+     * report failures and latency of every evaluated rule back to the plan.
+     *
+     * @param candidate domain object
+     * @return Result with the error of the first failing ensure rule in planned order, {@literal null} if every ensure rule is satisfied
+     */
+    private Result<T> ensureAdaptively(T candidate) {
+        int[] order = adaptivePlan.order();
+
+        if (!adaptivePlan.sample()) {
+            for (int position = 0; position < order.length; position++) {
+                if (!ensureRules[order[position]].specification.isSatisfiedBy(candidate)) {
+                    return ensureFailed(ensureRules[order[position]], candidate);
+                }
+            }
+
+            return null;
+        }
+
+        Result<T> failure = null;
+
+        for (int position = 0; position < order.length; position++) {
+            int index = order[position];
+
+            long start = System.nanoTime();
+            boolean satisfied = ensureRules[index].specification.isSatisfiedBy(candidate);
+            adaptivePlan.record(index, !satisfied, System.nanoTime() - start);
+
+            if (!satisfied) {
+                failure = ensureFailed(ensureRules[order[position]], candidate);
+                break;
+            }
+        }
+
+        adaptivePlan.sampled();
+
+        return failure;
+    }
+
+
+
+    private Result<T> ensureFailed(Rule<T> rule, T candidate) {
+        return Result.of(_class, null, Errors.append(null, rule.errorMessage(candidate)), true);
+    }
+
+
+
+    /**
+     * @param candidate domain object
+     * @param errors errors of validation rules, {@literal null} if every one is satisfied
+     * @return Result with candidate as value when there are no errors, otherwise Result with errors
+     */
+    private Result<T> result(T candidate, Errors errors) {
+        return Result.of(_class, errors == null ? candidate : null, errors, false);
+    }
+
+
+
+    /**
+     * Single validation rule; error message is only created once the rule failed.
+     */
+    private static final class Rule<T> {
+
+        private final TypedSpecification<? super T> specification;
+        private final String message;
+        private final MessageTemplate template;
+        private final Function<? super T, ?> actualValue;
+
+        private Rule(TypedSpecification<? super T> specification, String message, MessageTemplate template, Function<? super T, ?> actualValue) {
+            this.specification = Objects.requireNonNull(specification, "specification");
+            this.message = message;
+            this.template = template;
+            this.actualValue = actualValue;
+        }
+
+        private ErrorMessage errorMessage(T candidate) {
+            Object actual = actualValue == null ? null : actualValue.apply(candidate);
+
+            return template == null
+                    ? new ErrorMessage(message, actual)
+                    : ErrorMessage.coded(template, actual, new Object[] {actual});
+        }
+    }
+
+
+
+    /**
+     * Builder for {@link Validator}; not thread-safe.
+     */
+    public static final class Builder<T> {
+
+        private final Class<T> _class;
+        private final List<Rule<T>> ensureRules = new ArrayList<>();
+        private final List<Rule<T>> validationRules = new ArrayList<>();
+        private boolean costBasedOrdering;
+        private int sampleEvery;
+        private int replanEvery;
+        private ErrorPolicy policy = ErrorPolicy.all();
+
+        private Builder(Class<T> _class) {
+            this._class = _class;
+        }
+
+        /**
+         * plans ensure rules cheapest-first by {@link TypedSpecification#estimatedCost()} instead of declaration order;
+         * rules of equal cost keep their declaration order.
+         *
+         * Since the first failing ensure rule stops validation, a cheap failing rule spares every expensive one.
+         * The reported error is the one of the first failing rule in planned order.
+         *
+         * @return Builder
+         */
+        public Builder<T> costBasedOrdering() {
+            this.costBasedOrdering = true;
+            return this;
+        }
+
+        /**
+         * records errors of validation rules under the given policy instead of recording every one;
+         * also honoured by {@link BatchValidator}.
+         *
+         * @param policy error collection policy, e.g. {@link ErrorPolicy#maxErrors(int)}
+         * @return Builder
+         */
+        public Builder<T> errorPolicy(ErrorPolicy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy");
+            return this;
+        }
+
+        /**
+         * @see #adaptiveOrdering(int, int)
+         */
+        public Builder<T> adaptiveOrdering() {
+            return adaptiveOrdering(16, 256);
+        }
+
+        /**
+         * re-plans ensure rules at runtime from sampled failure rate and latency, so the rule most likely to fail
+         * for the least time runs first; starts from declaration order, or cost order with {@link #costBasedOrdering()}.
+         *
+         * As with {@link #costBasedOrdering()}, the reported error is the one of the first failing rule in planned order;
+         * errors of validation rules keep their declaration order.
+         *
+         * @param sampleEvery one of every {@code sampleEvery} validations is sampled on average
+         * @param replanEvery number of samples between re-plans
+         * @return Builder
+         */
+        public Builder<T> adaptiveOrdering(int sampleEvery, int replanEvery) {
+            if (sampleEvery < 1 || replanEvery < 1) {
+                throw new IllegalArgumentException("sampleEvery and replanEvery must be positive");
+            }
+
+            this.sampleEvery = sampleEvery;
+            this.replanEvery = replanEvery;
+            return this;
+        }
+
+        /**
+         * @see #ensure(TypedSpecification, String, Function)
+         */
+        public Builder<T> ensure(TypedSpecification<? super T> specification, String message) {
+            return ensure(specification, message, null);
+        }
+
+        /**
+         * adds gating rule; evaluated in declaration order before any validation rule.
+         *
+         * @param specification domain specification that needs to be satisfied by the candidate
+         * @param message error message
+         * @param actualValue derives actual value from the candidate; only called once the rule failed
+         * @return Builder
+         */
+        public Builder<T> ensure(TypedSpecification<? super T> specification, String message, Function<? super T, ?> actualValue) {
+            ensureRules.add(new Rule<>(specification, message, null, actualValue));
+            return this;
+        }
+
+        /**
+         * @see #validate(TypedSpecification, String, Function)
+         */
+        public Builder<T> validate(TypedSpecification<? super T> specification, String message) {
+            return validate(specification, message, null);
+        }
+
+        /**
+         * adds validation rule; every validation rule is evaluated once all ensure rules are satisfied.
+         *
+         * @param specification domain specification that needs to be satisfied by the candidate
+         * @param message error message
+         * @param actualValue derives actual value from the candidate; only called once the rule failed
+         * @return Builder
+         */
+        public Builder<T> validate(TypedSpecification<? super T> specification, String message, Function<? super T, ?> actualValue) {
+            validationRules.add(new Rule<>(specification, message, null, actualValue));
+            return this;
+        }
+
+        /**
+         * adds coded gating rule; the error message references the template and its single argument
+         * {@code {0}} is the actual value.
+         *
+         * @param specification domain specification that needs to be satisfied by the candidate
+         * @param template interned message template
+         * @param actualValue derives actual value from the candidate; only called once the rule failed
+         * @return Builder
+         * @see #ensure(TypedSpecification, String, Function)
+         */
+        public Builder<T> ensure(TypedSpecification<? super T> specification, MessageTemplate template, Function<? super T, ?> actualValue) {
+            ensureRules.add(new Rule<>(specification, null, Objects.requireNonNull(template, "template"), actualValue));
+            return this;
+        }
+
+        /**
+         * adds coded validation rule; the error message references the template and its single argument
+         * {@code {0}} is the actual value.
+         *
+         * @param specification domain specification that needs to be satisfied by the candidate
+         * @param template interned message template
+         * @param actualValue derives actual value from the candidate; only called once the rule failed
+         * @return Builder
+         * @see #validate(TypedSpecification, String, Function)
+         */
+        public Builder<T> validate(TypedSpecification<? super T> specification, MessageTemplate template, Function<? super T, ?> actualValue) {
+            validationRules.add(new Rule<>(specification, null, Objects.requireNonNull(template, "template"), actualValue));
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Validator<T> build() {
+            Rule<T>[] declaredEnsureRules = ensureRules.toArray(new Rule[0]);
+
+            int[] costs = new int[declaredEnsureRules.length];
+            for (int i = 0; i < costs.length; i++) {
+                costs[i] = declaredEnsureRules[i].specification.estimatedCost();
+            }
+
+            int[] order = IntStream.range(0, costs.length).toArray();
+
+            if (costBasedOrdering) {
+                order = IntStream.range(0, costs.length)
+                        .boxed()
+                        .sorted(Comparator.comparingInt(rule -> costs[rule]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+
+            if (replanEvery > 0) {
+                return new Validator<>(_class,
+                        declaredEnsureRules,
+                        new AdaptivePlan(order, sampleEvery, replanEvery),
+                        validationRules.toArray(new Rule[0]),
+                        policy);
+            }
+
+            Rule<T>[] plannedEnsureRules = new Rule[order.length];
+            for (int i = 0; i < order.length; i++) {
+                plannedEnsureRules[i] = declaredEnsureRules[order[i]];
+            }
+
+            return new Validator<>(_class,
+                    plannedEnsureRules,
+                    null,
+                    validationRules.toArray(new Rule[0]),
+                    policy);
+        }
+    }
+}
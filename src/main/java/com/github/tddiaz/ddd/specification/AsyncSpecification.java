@@ -0,0 +1,14 @@
+package com.github.tddiaz.ddd.specification;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Interface class to be implemented for creating domain specification that is evaluated asynchronously,
+ * e.g. one that queries a database or a remote service.
+ *
+ * @author Tristan Diaz
+ */
+@FunctionalInterface
+public interface AsyncSpecification {
+    CompletionStage<Boolean> isSatisfiedAsync();
+}
@@ -0,0 +1,277 @@
+package com.github.tddiaz.ddd.specification;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Batches lookups of lookup-based specifications, e.g. uniqueness or existence checks, into bulk lookups.
+ *
+ * Keys are enqueued as soon as a specification is created, and one bulk lookup answers every key enqueued so far.
+ * A batch is dispatched once any of its specifications is evaluated, once it reaches the maximum batch size
+ * or, when a scheduler is configured, a fixed delay after its first key was enqueued. Validating 500 order lines
+ * therefore costs a single query:
+ *
+ * <pre>
+ *     BatchLoader&lt;String, Product&gt; products = BatchLoader.of(skus -&gt; repository.findAllBySku(skus)).build();
+ *
+ *     Result.resultFor(Order.class)
+ *             .validateAll(lines.stream()
+ *                     .map(line -&gt; validate(products.specification(line.sku(), Objects::nonNull), "unknown sku", line.sku()))
+ *                     .toArray(Validation[]::new));
+ * </pre>
+ *
+ * {@link #asyncSpecification(Object, Predicate)} plugs into {@code AsyncResult} the same way. Thread-safe.
+ *
+ * @param <K> key type
+ * @param <V> looked up value type
+ * @author Tristan Diaz
+ */
+public final class BatchLoader<K, V> {
+
+    private final Function<? super Set<K>, ? extends CompletionStage<? extends Map<K, V>>> bulkLookup;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final long dispatchDelayNanos;
+
+    /**
+     * keys enqueued since the last dispatch; guarded by this
+     */
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+
+
+    private BatchLoader(Builder<K, V> builder) {
+        this.bulkLookup = builder.bulkLookup;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.scheduler = builder.scheduler;
+        this.dispatchDelayNanos = builder.dispatchDelayNanos;
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * @param bulkLookup looks up every given key at once; keys missing from the returned map are looked up as {@literal null}
+     * @param <K> key type
+     * @param <V> looked up value type
+     * @return Builder instance
+     */
+    public static <K, V> Builder<K, V> of(Function<? super Set<K>, ? extends Map<K, V>> bulkLookup) {
+        Objects.requireNonNull(bulkLookup, "bulkLookup");
+        return new Builder<>(keys -> CompletableFuture.completedFuture(bulkLookup.apply(keys)));
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * @param bulkLookup looks up every given key at once, asynchronously; keys missing from the map are looked up as {@literal null}
+     * @param <K> key type
+     * @param <V> looked up value type
+     * @return Builder instance
+     */
+    public static <K, V> Builder<K, V> ofAsync(Function<? super Set<K>, ? extends CompletionStage<? extends Map<K, V>>> bulkLookup) {
+        return new Builder<>(Objects.requireNonNull(bulkLookup, "bulkLookup"));
+    }
+
+
+
+    /**
+     * Enqueues key for the next bulk lookup; the same key is only looked up once per batch.
+     *
+     * @param key key to look up
+     * @return pending looked up value
+     */
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> value;
+        boolean first;
+        boolean full;
+
+        synchronized (this) {
+            first = pending.isEmpty();
+            value = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            full = pending.size() >= maxBatchSize;
+        }
+
+        if (full) {
+            dispatch();
+        } else if (first && scheduler != null) {
+            scheduler.schedule(this::dispatch, dispatchDelayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        return value;
+    }
+
+
+
+    /**
+     * Dispatches every key enqueued so far in one bulk lookup; does nothing if no key is pending.
+     */
+    public void dispatch() {
+        Map<K, CompletableFuture<V>> batch;
+
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        CompletionStage<? extends Map<K, V>> lookup;
+        try {
+            lookup = bulkLookup.apply(Collections.unmodifiableSet(batch.keySet()));
+        } catch (Throwable e) {
+            complete(batch, null, e);
+            return;
+        }
+
+        if (lookup == null) {
+            complete(batch, null, new NullPointerException("bulk lookup returned no stage"));
+            return;
+        }
+
+        lookup.whenComplete((values, e) -> complete(batch, values, e));
+    }
+
+
+
+    /**
+     * Completes every pending value of the batch; never leaves one incomplete.
+     *
+     * @param batch dispatched keys and their pending values
+     * @param values looked up values; {@literal null} is treated as an empty map
+     * @param failure lookup failure, {@literal null} if the lookup succeeded
+     */
+    private void complete(Map<K, CompletableFuture<V>> batch, Map<K, V> values, Throwable failure) {
+        for (Map.Entry<K, CompletableFuture<V>> entry : batch.entrySet()) {
+            if (failure != null) {
+                entry.getValue().completeExceptionally(failure);
+                continue;
+            }
+
+            try {
+                entry.getValue().complete(values == null ? null : values.get(entry.getKey()));
+            } catch (Throwable e) {
+                entry.getValue().completeExceptionally(e);
+            }
+        }
+    }
+
+
+
+    /**
+     * Enqueues key now and returns specification satisfied when the looked up value matches the predicate.
+     * Evaluating the specification dispatches the pending batch and waits for its lookup.
+     *
+     * @param key key to look up
+     * @param predicate condition on the looked up value, e.g. {@code Objects::nonNull} for existence checks
+     * @return Specification
+     */
+    public Specification specification(K key, Predicate<? super V> predicate) {
+        CompletableFuture<V> value = load(key);
+
+        return () -> {
+            dispatch();
+            return predicate.test(join(value));
+        };
+    }
+
+
+
+    /**
+     * Enqueues key now and returns asynchronous specification satisfied when the looked up value matches the predicate.
+     * Evaluating the specification dispatches the pending batch without waiting for its lookup.
+     *
+     * @param key key to look up
+     * @param predicate condition on the looked up value, e.g. {@code Objects::nonNull} for existence checks
+     * @return AsyncSpecification
+     */
+    public AsyncSpecification asyncSpecification(K key, Predicate<? super V> predicate) {
+        CompletableFuture<V> value = load(key);
+
+        return () -> {
+            dispatch();
+            return value.thenApply(predicate::test);
+        };
+    }
+
+
+
+    private static <V> V join(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+
+
+    /**
+     * Builder for {@link BatchLoader}
+     */
+    public static final class Builder<K, V> {
+
+        private final Function<? super Set<K>, ? extends CompletionStage<? extends Map<K, V>>> bulkLookup;
+        private int maxBatchSize = Integer.MAX_VALUE;
+        private ScheduledExecutorService scheduler;
+        private long dispatchDelayNanos;
+
+        private Builder(Function<? super Set<K>, ? extends CompletionStage<? extends Map<K, V>>> bulkLookup) {
+            this.bulkLookup = bulkLookup;
+        }
+
+        /**
+         * @param maxBatchSize number of keys that dispatches a batch right away; unbounded unless set
+         * @return Builder
+         */
+        public Builder<K, V> maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+            }
+
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * @param delay time after the first key of a batch was enqueued that the batch is dispatched
+         * @param scheduler scheduler running the delayed dispatch
+         * @return Builder
+         */
+        public Builder<K, V> dispatchAfter(Duration delay, ScheduledExecutorService scheduler) {
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+
+            this.dispatchDelayNanos = delay.toNanos();
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        public BatchLoader<K, V> build() {
+            return new BatchLoader<>(this);
+        }
+    }
+}
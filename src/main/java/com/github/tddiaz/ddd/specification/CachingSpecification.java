@@ -0,0 +1,275 @@
+package com.github.tddiaz.ddd.specification;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator caching outcomes of a pure {@link TypedSpecification}, e.g. a blacklist lookup or a reference-data check.
+ *
+ * Outcomes are keyed by the candidate or by a key derived from it, evicted least-recently-used once the cache is full
+ * and optionally expired a fixed time after they were computed. Thread-safe; the decorated specification is
+ * evaluated outside the cache lock.
+ *
+ * <pre>
+ *     TypedSpecification&lt;Customer&gt; notBlacklisted = CachingSpecification.of(new NotBlacklisted(client))
+ *             .keyedBy(Customer::getCountryCode)
+ *             .maximumSize(1_000)
+ *             .expireAfterWrite(Duration.ofMinutes(5))
+ *             .build();
+ * </pre>
+ *
+ * @param <T> candidate type
+ * @author Tristan Diaz
+ */
+public final class CachingSpecification<T> implements TypedSpecification<T> {
+
+    /**
+     * shared outcomes used when entries never expire
+     */
+    private static final Outcome SATISFIED = new Outcome(true, 0);
+    private static final Outcome NOT_SATISFIED = new Outcome(false, 0);
+
+    private final TypedSpecification<? super T> specification;
+    private final Function<? super T, ?> key;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+
+    /**
+     * access ordered, so iteration starts at the least recently used entry; guarded by itself
+     */
+    private final LinkedHashMap<Object, Outcome> outcomes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+
+    private CachingSpecification(Builder<T> builder) {
+        this.specification = builder.specification;
+        this.key = builder.key;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.ticker = builder.ticker;
+
+        long maximumSize = builder.maximumSize;
+        this.outcomes = new LinkedHashMap<Object, Outcome>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Outcome> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns Builder caching outcomes of the given specification, keyed by the candidate itself by default
+     *
+     * @param specification pure specification; same key must always give the same outcome
+     * @param <T> candidate type
+     * @return Builder instance
+     */
+    public static <T> Builder<T> of(TypedSpecification<? super T> specification) {
+        return new Builder<>(specification);
+    }
+
+
+
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        Object cacheKey = key.apply(candidate);
+
+        Outcome outcome;
+        synchronized (outcomes) {
+            outcome = outcomes.get(cacheKey);
+        }
+
+        if (outcome != null && !isExpired(outcome)) {
+            hits.increment();
+            return outcome.satisfied;
+        }
+
+        misses.increment();
+
+        boolean satisfied = specification.isSatisfiedBy(candidate);
+
+        outcome = expireAfterWriteNanos == Long.MAX_VALUE
+                ? (satisfied ? SATISFIED : NOT_SATISFIED)
+                : new Outcome(satisfied, ticker.getAsLong() + expireAfterWriteNanos);
+
+        synchronized (outcomes) {
+            outcomes.put(cacheKey, outcome);
+        }
+
+        return satisfied;
+    }
+
+
+
+    private boolean isExpired(Outcome outcome) {
+        return expireAfterWriteNanos != Long.MAX_VALUE && outcome.expiresAt - ticker.getAsLong() <= 0;
+    }
+
+
+
+    @Override
+    public int estimatedCost() {
+        return specification.estimatedCost();
+    }
+
+
+
+    /**
+     * @return number of evaluations answered from the cache
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+
+
+    /**
+     * @return number of evaluations delegated to the decorated specification, including expired entries
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+
+
+    /**
+     * @return number of entries evicted because the cache was full
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+
+
+    /**
+     * @return ratio of evaluations answered from the cache, {@literal 1.0} if there were none
+     */
+    public double hitRate() {
+        long hitCount = hitCount();
+        long total = hitCount + missCount();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+
+
+    /**
+     * @return number of cached entries, including expired entries not yet replaced
+     */
+    public int size() {
+        synchronized (outcomes) {
+            return outcomes.size();
+        }
+    }
+
+
+
+    /**
+     * Discards every cached outcome; statistics are kept.
+     */
+    public void invalidateAll() {
+        synchronized (outcomes) {
+            outcomes.clear();
+        }
+    }
+
+
+
+    /**
+     * Cached outcome
+     */
+    private static final class Outcome {
+
+        private final boolean satisfied;
+        /**
+         * {@link #ticker} time the outcome expires at; unused when outcomes never expire
+         */
+        private final long expiresAt;
+
+        private Outcome(boolean satisfied, long expiresAt) {
+            this.satisfied = satisfied;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+
+
+    /**
+     * Builder for {@link CachingSpecification}
+     */
+    public static final class Builder<T> {
+
+        private final TypedSpecification<? super T> specification;
+        private Function<? super T, ?> key = Function.identity();
+        private long maximumSize = 10_000;
+        private long expireAfterWriteNanos = Long.MAX_VALUE;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(TypedSpecification<? super T> specification) {
+            this.specification = Objects.requireNonNull(specification, "specification");
+        }
+
+        /**
+         * @param key derives the cache key from the candidate; must identify the outcome of the specification
+         * @return Builder
+         */
+        public Builder<T> keyedBy(Function<? super T, ?> key) {
+            this.key = Objects.requireNonNull(key, "key");
+            return this;
+        }
+
+        /**
+         * @param maximumSize maximum number of cached outcomes; 10 000 unless set
+         * @return Builder
+         */
+        public Builder<T> maximumSize(long maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            }
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param duration time after which a cached outcome is recomputed; outcomes never expire unless set
+         * @return Builder
+         */
+        public Builder<T> expireAfterWrite(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        /**
+         * @param ticker time source in nanoseconds; visible for testing
+         * @return Builder
+         */
+        Builder<T> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public CachingSpecification<T> build() {
+            return new CachingSpecification<>(this);
+        }
+    }
+}
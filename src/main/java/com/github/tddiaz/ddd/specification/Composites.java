@@ -0,0 +1,291 @@
+package com.github.tddiaz.ddd.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composite specifications backing the {@code and}, {@code or}, {@code not}, {@code allOf} and {@code anyOf} combinators.
+ *
+ * Nested composites of the same kind are flattened when built, so evaluation is a single short-circuiting loop
+ * over the leaves instead of a tree of nested calls.
+ *
+ * @author Tristan Diaz
+ */
+final class Composites {
+
+    private Composites() {
+    }
+
+
+
+    static Specification allOf(Specification[] specifications) {
+        List<Specification> leaves = new ArrayList<>(specifications.length);
+        for (Specification specification : specifications) {
+            if (specification instanceof AllOf) {
+                addAll(leaves, ((AllOf) specification).specifications);
+            } else {
+                leaves.add(specification);
+            }
+        }
+
+        return leaves.size() == 1 ? leaves.get(0) : new AllOf(leaves.toArray(new Specification[0]));
+    }
+
+
+
+    static Specification anyOf(Specification[] specifications) {
+        List<Specification> leaves = new ArrayList<>(specifications.length);
+        for (Specification specification : specifications) {
+            if (specification instanceof AnyOf) {
+                addAll(leaves, ((AnyOf) specification).specifications);
+            } else {
+                leaves.add(specification);
+            }
+        }
+
+        return leaves.size() == 1 ? leaves.get(0) : new AnyOf(leaves.toArray(new Specification[0]));
+    }
+
+
+
+    static Specification not(Specification specification) {
+        return specification instanceof Not ? ((Not) specification).specification : new Not(specification);
+    }
+
+
+
+    @SuppressWarnings("unchecked")
+    static <T> TypedSpecification<T> allOf(TypedSpecification<? super T>[] specifications) {
+        List<TypedSpecification<? super T>> leaves = new ArrayList<>(specifications.length);
+        for (TypedSpecification<? super T> specification : specifications) {
+            if (specification instanceof TypedAllOf) {
+                addAll(leaves, ((TypedAllOf<? super T>) specification).specifications);
+            } else {
+                leaves.add(specification);
+            }
+        }
+
+        return leaves.size() == 1
+                ? (TypedSpecification<T>) leaves.get(0)
+                : new TypedAllOf<>(leaves.toArray(new TypedSpecification[0]));
+    }
+
+
+
+    @SuppressWarnings("unchecked")
+    static <T> TypedSpecification<T> anyOf(TypedSpecification<? super T>[] specifications) {
+        List<TypedSpecification<? super T>> leaves = new ArrayList<>(specifications.length);
+        for (TypedSpecification<? super T> specification : specifications) {
+            if (specification instanceof TypedAnyOf) {
+                addAll(leaves, ((TypedAnyOf<? super T>) specification).specifications);
+            } else {
+                leaves.add(specification);
+            }
+        }
+
+        return leaves.size() == 1
+                ? (TypedSpecification<T>) leaves.get(0)
+                : new TypedAnyOf<>(leaves.toArray(new TypedSpecification[0]));
+    }
+
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> TypedSpecification<T> not(TypedSpecification<? super T> specification) {
+        if (specification instanceof TypedNot) {
+            return (TypedSpecification<T>) ((TypedNot) specification).specification;
+        }
+
+        return new TypedNot<>(specification);
+    }
+
+
+
+    @SuppressWarnings("unchecked")
+    static <T> TypedSpecification<T> withCost(TypedSpecification<T> specification, int cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("cost must not be negative: " + cost);
+        }
+
+        TypedSpecification<? super T> delegate = specification instanceof Costed
+                ? ((Costed<T>) specification).specification
+                : specification;
+
+        return new Costed<>(delegate, cost);
+    }
+
+
+
+    /**
+     * @return sum of estimated costs, i.e. the cost when no evaluation short-circuits
+     */
+    private static int totalCost(TypedSpecification<?>[] specifications) {
+        long total = 0;
+        for (TypedSpecification<?> specification : specifications) {
+            total += specification.estimatedCost();
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+
+
+    private static <E> void addAll(List<? super E> leaves, E[] specifications) {
+        for (E specification : specifications) {
+            leaves.add(specification);
+        }
+    }
+
+
+
+    private static final class AllOf implements Specification {
+
+        private final Specification[] specifications;
+
+        private AllOf(Specification[] specifications) {
+            this.specifications = specifications;
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            for (Specification specification : specifications) {
+                if (!specification.isSatisfied()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+
+    private static final class AnyOf implements Specification {
+
+        private final Specification[] specifications;
+
+        private AnyOf(Specification[] specifications) {
+            this.specifications = specifications;
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            for (Specification specification : specifications) {
+                if (specification.isSatisfied()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+
+    private static final class Not implements Specification {
+
+        private final Specification specification;
+
+        private Not(Specification specification) {
+            this.specification = specification;
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            return !specification.isSatisfied();
+        }
+    }
+
+
+
+    private static final class TypedAllOf<T> implements TypedSpecification<T> {
+
+        private final TypedSpecification<? super T>[] specifications;
+
+        private TypedAllOf(TypedSpecification<? super T>[] specifications) {
+            this.specifications = specifications;
+        }
+
+        @Override
+        public int estimatedCost() {
+            return totalCost(specifications);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            for (TypedSpecification<? super T> specification : specifications) {
+                if (!specification.isSatisfiedBy(candidate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+
+    private static final class TypedAnyOf<T> implements TypedSpecification<T> {
+
+        private final TypedSpecification<? super T>[] specifications;
+
+        private TypedAnyOf(TypedSpecification<? super T>[] specifications) {
+            this.specifications = specifications;
+        }
+
+        @Override
+        public int estimatedCost() {
+            return totalCost(specifications);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            for (TypedSpecification<? super T> specification : specifications) {
+                if (specification.isSatisfiedBy(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+
+    private static final class TypedNot<T> implements TypedSpecification<T> {
+
+        private final TypedSpecification<? super T> specification;
+
+        private TypedNot(TypedSpecification<? super T> specification) {
+            this.specification = specification;
+        }
+
+        @Override
+        public int estimatedCost() {
+            return specification.estimatedCost();
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            return !specification.isSatisfiedBy(candidate);
+        }
+    }
+
+
+
+    private static final class Costed<T> implements TypedSpecification<T> {
+
+        private final TypedSpecification<? super T> specification;
+        private final int cost;
+
+        private Costed(TypedSpecification<? super T> specification, int cost) {
+            this.specification = specification;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            return specification.isSatisfiedBy(candidate);
+        }
+
+        @Override
+        public int estimatedCost() {
+            return cost;
+        }
+    }
+}
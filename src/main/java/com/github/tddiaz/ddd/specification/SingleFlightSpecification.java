@@ -0,0 +1,241 @@
+package com.github.tddiaz.ddd.specification;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator coalescing concurrent evaluations of an expensive remote {@link TypedSpecification}.
+ *
+ * Concurrent evaluations for the same key share one in-flight evaluation instead of each calling the remote
+ * service. When the evaluation throws, the exception is cached for the configured time and rethrown to callers
+ * for that key, so a failing service isn't hammered by retries.
+ *
+ * Meant to sit behind a {@link CachingSpecification}, so only cache misses are coalesced:
+ *
+ * <pre>
+ *     TypedSpecification&lt;Product&gt; referenced = CachingSpecification.of(
+ *             SingleFlightSpecification.of(new ReferencedProduct(client))
+ *                     .keyedBy(Product::getSku)
+ *                     .failureTtl(Duration.ofSeconds(1))
+ *                     .build())
+ *             .keyedBy(Product::getSku)
+ *             .build();
+ * </pre>
+ *
+ * @param <T> candidate type
+ * @author Tristan Diaz
+ */
+public final class SingleFlightSpecification<T> implements TypedSpecification<T> {
+
+    /**
+     * stands for the {@literal null} key, which the concurrent maps can't hold
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final TypedSpecification<? super T> specification;
+    private final Function<? super T, ?> key;
+    private final long failureTtlNanos;
+    private final LongSupplier ticker;
+
+    /**
+     * evaluations in flight by key
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * recently thrown exceptions by key
+     */
+    private final ConcurrentMap<Object, Failure> failures = new ConcurrentHashMap<>();
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+
+
+    private SingleFlightSpecification(Builder<T> builder) {
+        this.specification = builder.specification;
+        this.key = builder.key;
+        this.failureTtlNanos = builder.failureTtlNanos;
+        this.ticker = builder.ticker;
+    }
+
+
+
+    /**
+     * static factory method
+     *
+     * returns Builder coalescing evaluations of the given specification, keyed by the candidate itself by default
+     *
+     * @param specification expensive specification; same key must always give the same outcome
+     * @param <T> candidate type
+     * @return Builder instance
+     */
+    public static <T> Builder<T> of(TypedSpecification<? super T> specification) {
+        return new Builder<>(specification);
+    }
+
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws RuntimeException thrown by the decorated specification, either for this call, for the in-flight
+     *                          evaluation this call joined or, within the failure TTL, for a previous call
+     */
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        Object flightKey = key.apply(candidate);
+        if (flightKey == null) {
+            flightKey = NULL_KEY;
+        }
+
+        Failure failure = failures.get(flightKey);
+        if (failure != null) {
+            if (ticker.getAsLong() - failure.expiresAt < 0) {
+                throw failure.exception;
+            }
+            failures.remove(flightKey, failure);
+        }
+
+        CompletableFuture<Boolean> flight = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        try {
+            evaluations.increment();
+            boolean satisfied = specification.isSatisfiedBy(candidate);
+            flight.complete(satisfied);
+            return satisfied;
+        } catch (Throwable e) {
+            if (failureTtlNanos > 0 && e instanceof RuntimeException) {
+                failures.put(flightKey, new Failure((RuntimeException) e, ticker.getAsLong() + failureTtlNanos));
+            }
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+
+
+    @Override
+    public int estimatedCost() {
+        return specification.estimatedCost();
+    }
+
+
+
+    /**
+     * @return number of evaluations delegated to the decorated specification
+     */
+    public long evaluationCount() {
+        return evaluations.sum();
+    }
+
+
+
+    /**
+     * @return number of evaluations that joined an evaluation already in flight
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+
+
+    private static boolean join(CompletableFuture<Boolean> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+
+
+    /**
+     * Cached exception
+     */
+    private static final class Failure {
+
+        private final RuntimeException exception;
+        private final long expiresAt;
+
+        private Failure(RuntimeException exception, long expiresAt) {
+            this.exception = exception;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+
+
+    /**
+     * Builder for {@link SingleFlightSpecification}
+     */
+    public static final class Builder<T> {
+
+        private final TypedSpecification<? super T> specification;
+        private Function<? super T, ?> key = Function.identity();
+        private long failureTtlNanos;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(TypedSpecification<? super T> specification) {
+            this.specification = Objects.requireNonNull(specification, "specification");
+        }
+
+        /**
+         * @param key derives the flight key from the candidate, may return {@literal null}; must identify the outcome
+         *            of the specification
+         * @return Builder
+         */
+        public Builder<T> keyedBy(Function<? super T, ?> key) {
+            this.key = Objects.requireNonNull(key, "key");
+            return this;
+        }
+
+        /**
+         * @param duration time an exception thrown by the specification is rethrown without evaluating it again;
+         *                 exceptions are not cached unless set
+         * @return Builder
+         */
+        public Builder<T> failureTtl(Duration duration) {
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException("duration must not be negative: " + duration);
+            }
+
+            this.failureTtlNanos = duration.toNanos();
+            return this;
+        }
+
+        /**
+         * @param ticker time source in nanoseconds; visible for testing
+         * @return Builder
+         */
+        Builder<T> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public SingleFlightSpecification<T> build() {
+            return new SingleFlightSpecification<>(this);
+        }
+    }
+}
@@ -3,9 +3,38 @@ package com.github.tddiaz.ddd.specification;
 /**
  * Interface class to be implemented for creating domain specification
  *
+ * Specifications can be composed with {@link #and}, {@link #or}, {@link #not}, {@link #allOf} and {@link #anyOf};
+ * composites short-circuit and nested composites are flattened when built.
+ *
  * @author Tristan Diaz
  */
 @FunctionalInterface
 public interface Specification {
     boolean isSatisfied();
+
+    default Specification and(Specification other) {
+        return allOf(this, other);
+    }
+
+    default Specification or(Specification other) {
+        return anyOf(this, other);
+    }
+
+    default Specification not() {
+        return Composites.not(this);
+    }
+
+    /**
+     * @return specification satisfied when every given specification is satisfied; evaluated in order, stops at first failure
+     */
+    static Specification allOf(Specification... specifications) {
+        return Composites.allOf(specifications);
+    }
+
+    /**
+     * @return specification satisfied when any given specification is satisfied; evaluated in order, stops at first success
+     */
+    static Specification anyOf(Specification... specifications) {
+        return Composites.anyOf(specifications);
+    }
 }
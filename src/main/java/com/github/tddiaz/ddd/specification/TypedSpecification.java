@@ -0,0 +1,71 @@
+package com.github.tddiaz.ddd.specification;
+
+/**
+ * Interface class to be implemented for creating domain specification that is evaluated against a candidate.
+ *
+ * Unlike {@link Specification}, the candidate is passed on evaluation, so implementations can be
+ * stateless singletons instead of capturing the candidate in a new instance per evaluation.
+ *
+ * Composes the same way as {@link Specification}; composites short-circuit and are flattened when built.
+ *
+ * A specification may declare its estimated evaluation cost, e.g. a database lookup being far more
+ * expensive than a null check, so rule sets can be planned to run the cheap ones first.
+ *
+ * @param <T> candidate type
+ * @author Tristan Diaz
+ */
+@FunctionalInterface
+public interface TypedSpecification<T> {
+
+    /**
+     * estimated cost of specifications not declaring one
+     */
+    int DEFAULT_COST = 1;
+
+    boolean isSatisfiedBy(T candidate);
+
+    /**
+     * @return estimated evaluation cost in arbitrary relative units; {@link #DEFAULT_COST} unless declared
+     */
+    default int estimatedCost() {
+        return DEFAULT_COST;
+    }
+
+    /**
+     * @param cost estimated evaluation cost in arbitrary relative units
+     * @return same specification declaring the given estimated cost
+     */
+    default TypedSpecification<T> withCost(int cost) {
+        return Composites.withCost(this, cost);
+    }
+
+    @SuppressWarnings("unchecked")
+    default TypedSpecification<T> and(TypedSpecification<? super T> other) {
+        return Composites.allOf(new TypedSpecification[]{this, other});
+    }
+
+    @SuppressWarnings("unchecked")
+    default TypedSpecification<T> or(TypedSpecification<? super T> other) {
+        return Composites.anyOf(new TypedSpecification[]{this, other});
+    }
+
+    default TypedSpecification<T> not() {
+        return Composites.not(this);
+    }
+
+    /**
+     * @return specification satisfied when every given specification is satisfied; evaluated in order, stops at first failure
+     */
+    @SafeVarargs
+    static <T> TypedSpecification<T> allOf(TypedSpecification<? super T>... specifications) {
+        return Composites.allOf(specifications);
+    }
+
+    /**
+     * @return specification satisfied when any given specification is satisfied; evaluated in order, stops at first success
+     */
+    @SafeVarargs
+    static <T> TypedSpecification<T> anyOf(TypedSpecification<? super T>... specifications) {
+        return Composites.anyOf(specifications);
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.specification.AsyncSpecification;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tddiaz.ddd.result.AsyncResult.AsyncValidation.validateAsync;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class AsyncResultTest {
+
+    private static final AsyncSpecification SATISFIED = () -> CompletableFuture.completedFuture(true);
+    private static final AsyncSpecification NOT_SATISFIED = () -> CompletableFuture.completedFuture(false);
+
+    @Test
+    public void givenEnsureSpecificationFails_whenValidateAllAsync_shouldNotProceedProcessingFurtherValidations() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        Result<DomainEntity> result = AsyncResult.resultFor(DomainEntity.class)
+                .ensureAsync(NOT_SATISFIED, "ensure failed", "actualValue")
+                .ensureAsync(NOT_SATISFIED, "ensure failed again")
+                .validateAllAsync(validateAsync(() -> {
+                    evaluations.incrementAndGet();
+                    return CompletableFuture.completedFuture(false);
+                }, "validation failed"))
+                .toCompletionStage().toCompletableFuture().join();
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("ensure failed"));
+        assertThat(result.getErrors().get(0).getActualValue(), is("actualValue"));
+        assertThat(evaluations.get(), is(0));
+    }
+
+    @Test
+    public void givenValidationsCompletingOutOfOrder_whenValidateAllAsync_shouldReturnErrorsInDeclarationOrder() {
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> second = new CompletableFuture<>();
+
+        CompletableFuture<Result<DomainEntity>> pending = AsyncResult.resultFor(DomainEntity.class)
+                .ensureAsync(SATISFIED, "ensure failed")
+                .validateAllAsync(
+                        validateAsync(() -> first, "error1"),
+                        validateAsync(() -> second, "error2"),
+                        validateAsync(SATISFIED, "error3"))
+                .toCompletionStage().toCompletableFuture();
+
+        assertFalse(pending.isDone());
+
+        second.complete(false);
+        first.complete(false);
+
+        assertThat(pending.join().getErrors(), hasSize(2));
+        assertThat(pending.join().getErrors().get(0).getMessage(), is("error1"));
+        assertThat(pending.join().getErrors().get(1).getMessage(), is("error2"));
+    }
+
+    @Test
+    public void givenMultipleAsyncResults_whenCombineAsync_shouldReturnConsolidatedResults() {
+        AsyncResult<DomainEntity> result1 = AsyncResult.resultFor(DomainEntity.class)
+                .validateAllAsync(validateAsync(NOT_SATISFIED, "error1"), validateAsync(NOT_SATISFIED, "error2"));
+        AsyncResult<DomainEntity> result2 = AsyncResult.resultFor(DomainEntity.class)
+                .validateAllAsync(validateAsync(NOT_SATISFIED, "error3"));
+
+        Result<DomainEntity> result = AsyncResult.resultFor(DomainEntity.class)
+                .combineAsync(result1, result2)
+                .onSuccessAsync(() -> CompletableFuture.completedFuture(new DomainEntity()))
+                .toCompletionStage().toCompletableFuture().join();
+
+        assertThat(result.getErrors(), hasSize(3));
+    }
+
+    @Test
+    public void givenSuccessSpecifications_whenOnSuccessAsync_shouldReturnResultValue() {
+        Result<DomainEntity> result = AsyncResult.resultFor(DomainEntity.class)
+                .ensureAsync(SATISFIED, "ensure failed")
+                .validateAllAsync(validateAsync(SATISFIED, "validation failed"))
+                .onSuccessAsync(() -> CompletableFuture.supplyAsync(DomainEntity::new))
+                .toCompletionStage().toCompletableFuture().join();
+
+        assertFalse(result.hasErrors());
+        assertThat(result.get(), notNullValue());
+    }
+
+    private static class DomainEntity {
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.tddiaz.ddd.result;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BatchValidatorTest {
+
+    private static final BatchValidator<Integer> BATCH_VALIDATOR = BatchValidator.of(Validator.builder(Integer.class)
+            .ensure(candidate -> candidate != null, "required")
+            .validate(candidate -> candidate > 0, "not positive", candidate -> candidate)
+            .validate(candidate -> candidate % 2 == 0, "not even", candidate -> candidate)
+            .build());
+
+    @Test
+    public void givenCandidates_whenValidate_shouldStoreOnlyFailedRecords() {
+        BatchResult result = BATCH_VALIDATOR.validate(Arrays.asList(2, -1, null, 4));
+
+        assertThat(result.size(), is(4));
+        assertThat(result.failureCount(), is(2));
+        assertFalse(result.hasErrors(0));
+        assertThat(result.getErrors(0), is(empty()));
+        assertThat(result.getErrors(1), hasSize(2));
+        assertThat(result.getErrors(1).get(0).getMessage(), is("not positive"));
+        assertThat(result.getErrors(1).get(1).getMessage(), is("not even"));
+        assertThat(result.getErrors(2), hasSize(1));
+        assertThat(result.getErrors(2).get(0).getMessage(), is("required"));
+        assertFalse(result.hasErrors(3));
+    }
+
+    @Test
+    public void givenIterator_whenValidate_shouldConsumeEveryCandidate() {
+        BatchResult result = BATCH_VALIDATOR.validate(Arrays.asList(2, 4, 6).iterator());
+
+        assertThat(result.size(), is(3));
+        assertFalse(result.hasErrors());
+    }
+
+    @Test
+    public void givenManyCandidates_whenValidateParallel_shouldMatchSequentialOutcome() {
+        List<Integer> candidates = IntStream.range(-500, 500).boxed().collect(Collectors.toList());
+
+        BatchResult sequential = BATCH_VALIDATOR.validate(candidates);
+        BatchResult parallel = BATCH_VALIDATOR.validateParallel(candidates);
+
+        assertThat(parallel.size(), is(sequential.size()));
+        assertThat(failedIndexes(parallel), is(failedIndexes(sequential)));
+        assertTrue(parallel.hasErrors(0));
+        assertThat(parallel.getErrors(0).get(0).getActualValue(), is(-500));
+    }
+
+    @Test
+    public void givenFailures_whenForEachFailure_shouldVisitInIndexOrder() {
+        BatchResult result = BATCH_VALIDATOR.validate(Arrays.asList(1, 2, 3));
+
+        assertThat(failedIndexes(result), contains(0, 2));
+    }
+
+    private static List<Integer> failedIndexes(BatchResult result) {
+        List<Integer> indexes = new ArrayList<>();
+        result.forEachFailure((index, errors) -> indexes.add(index));
+        return indexes;
+    }
+}
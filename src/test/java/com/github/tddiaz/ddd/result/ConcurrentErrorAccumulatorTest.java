@@ -0,0 +1,61 @@
+package com.github.tddiaz.ddd.result;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentErrorAccumulatorTest {
+
+    @Test
+    public void givenWorkerThreads_whenReport_shouldFreezeErrorsInSlotOrder() throws InterruptedException {
+        ConcurrentErrorAccumulator accumulator = new ConcurrentErrorAccumulator(1000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 999; i >= 0; i--) {
+            int slot = i;
+            executor.execute(() -> {
+                if (slot % 3 == 0) {
+                    accumulator.report(slot, "error" + slot, slot);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        Result<Object> result = accumulator.toResult(Object.class);
+
+        assertThat(result.getErrors(), hasSize(334));
+        for (int i = 0; i < 334; i++) {
+            assertThat(result.getErrors().get(i).getActualValue(), is(i * 3));
+        }
+    }
+
+    @Test
+    public void givenSlottedAndUnslottedErrors_whenToResult_shouldListUnslottedErrorsLast() {
+        ConcurrentErrorAccumulator accumulator = new ConcurrentErrorAccumulator(2);
+        accumulator.add("unslotted");
+        accumulator.report(1, "second");
+        accumulator.report(1, "second again");
+        accumulator.report(0, "first");
+
+        Result<Object> result = accumulator.toResult(Object.class);
+
+        assertThat(result.getErrors(), hasSize(3));
+        assertThat(result.getErrors().get(0).getMessage(), is("first"));
+        assertThat(result.getErrors().get(1).getMessage(), is("second"));
+        assertThat(result.getErrors().get(2).getMessage(), is("unslotted"));
+    }
+
+    @Test
+    public void givenNoReportedErrors_whenToResult_shouldReturnResultWithoutErrors() {
+        assertFalse(new ConcurrentErrorAccumulator(3).toResult(Object.class).hasErrors());
+    }
+}
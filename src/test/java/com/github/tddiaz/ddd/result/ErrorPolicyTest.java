@@ -0,0 +1,185 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import com.github.tddiaz.ddd.specification.Specification;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+import static com.github.tddiaz.ddd.result.Result.resultFor;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ErrorPolicyTest {
+
+    private static final Specification NOT_SATISFIED = () -> false;
+
+    @Test
+    public void givenMaxErrors_whenValidateAll_shouldStopEvaluatingOnceReached() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Specification counted = () -> evaluations.incrementAndGet() < 0;
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.maxErrors(2),
+                        validate(counted, "error1"),
+                        validate(counted, "error2"),
+                        validate(counted, "error3"),
+                        validate(counted, "error4"));
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(1).getMessage(), is("error2"));
+        assertThat(evaluations.get(), is(2));
+    }
+
+    @Test
+    public void givenFirstPerField_whenValidateAll_shouldKeepFirstErrorOfEachField() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.firstPer(error -> error.getMessage().split(" ")[0]),
+                        validate(NOT_SATISFIED, "name is required"),
+                        validate(NOT_SATISFIED, "name is too short"),
+                        validate(NOT_SATISFIED, "age is below 18"));
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is required"));
+        assertThat(result.getErrors().get(1).getMessage(), is("age is below 18"));
+    }
+
+    @Test
+    public void givenCountOnly_whenValidateAll_shouldCountErrorsWithoutCreatingMessages() {
+        AtomicInteger messages = new AtomicInteger();
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(),
+                        validate(NOT_SATISFIED, () -> "error" + messages.incrementAndGet(), null),
+                        validate(NOT_SATISFIED, () -> "error" + messages.incrementAndGet(), null));
+
+        assertTrue(result.hasErrors());
+        assertThat(result.getErrorCount(), is(2));
+        assertThat(result.getErrors(), empty());
+        assertThat(messages.get(), is(0));
+    }
+
+    @Test
+    public void givenMaxErrors_whenCombine_shouldTruncateCombinedErrors() {
+        Result<DomainEntity> result1 = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "error1"), validate(NOT_SATISFIED, "error2"));
+        Result<DomainEntity> result2 = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "error3"), validate(NOT_SATISFIED, "error4"));
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class).combine(ErrorPolicy.maxErrors(3), result1, result2);
+
+        assertThat(result.getErrors(), hasSize(3));
+        assertThat(result.getErrors().get(2).getMessage(), is("error3"));
+    }
+
+    @Test
+    public void givenCountOnlyCombinedIntoAll_whenGetErrors_shouldListOnlyErrorsWithMessage() {
+        Result<DomainEntity> counted = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(), validate(NOT_SATISFIED, "error1"), validate(NOT_SATISFIED, "error2"));
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "error3"))
+                .combine(counted);
+
+        assertThat(result.getErrorCount(), is(3));
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("error3"));
+    }
+
+    @Test
+    public void givenCountOnlyChild_whenCombineWithFirstPer_shouldKeepCountedErrors() {
+        Result<DomainEntity> counted = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(), validate(NOT_SATISFIED, "error1"), validate(NOT_SATISFIED, "error2"));
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class).combine(ErrorPolicy.firstPer(ErrorMessage::getMessage), counted);
+
+        assertTrue(result.hasErrors());
+        assertThat(result.getErrorCount(), is(2));
+        assertThat(result.getErrors(), is(empty()));
+    }
+
+    @Test
+    public void givenCountOnlyChild_whenCombineWithMaxErrors_shouldCountErrorsUpToMax() {
+        Result<DomainEntity> listed = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "error1"));
+        Result<DomainEntity> counted = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(), validate(NOT_SATISFIED, "error2"), validate(NOT_SATISFIED, "error3"),
+                        validate(NOT_SATISFIED, "error4"));
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class).combine(ErrorPolicy.maxErrors(3), listed, counted);
+
+        assertTrue(result.hasErrors());
+        assertThat(result.getErrorCount(), is(3));
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("error1"));
+    }
+
+    @Test
+    public void givenMaxErrors_whenResultBuilder_shouldHonourPolicyForEveryError() {
+        Result<DomainEntity> result = ResultBuilder.resultFor(DomainEntity.class, ErrorPolicy.maxErrors(2))
+                .validateAll(validate(NOT_SATISFIED, "error1"))
+                .addError("error2")
+                .addError("error3")
+                .build();
+
+        assertThat(result.getErrors(), hasSize(2));
+    }
+
+    @Test
+    public void givenValidatorWithMaxErrors_whenBatchValidate_shouldBoundErrorsPerRecord() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .validate(entity -> false, "error1")
+                .validate(entity -> evaluations.incrementAndGet() < 0, "error2")
+                .errorPolicy(ErrorPolicy.maxErrors(1))
+                .build();
+
+        BatchResult batch = BatchValidator.of(validator).validate(Arrays.asList(new DomainEntity(), new DomainEntity()));
+
+        assertThat(batch.failureCount(), is(2));
+        assertThat(batch.getErrors(1), hasSize(1));
+        assertThat(validator.apply(new DomainEntity()).getErrors(), hasSize(1));
+        assertThat(evaluations.get(), is(0));
+    }
+
+    @Test
+    public void givenValidatorWithCountOnly_whenBatchValidate_shouldCarryErrorCountPerRecord() {
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .validate(entity -> false, "error1")
+                .validate(entity -> false, "error2")
+                .errorPolicy(ErrorPolicy.countOnly())
+                .build();
+        List<DomainEntity> records = Arrays.asList(new DomainEntity(), new DomainEntity());
+
+        for (BatchResult batch : Arrays.asList(BatchValidator.of(validator).validate(records),
+                BatchValidator.of(validator).validateParallel(records))) {
+            assertThat(batch.failureCount(), is(2));
+            assertThat(batch.hasErrors(1), is(true));
+            assertThat(batch.getErrors(1), is(empty()));
+            assertThat(batch.getErrorCount(1), is(2));
+            assertThat(batch.getErrorCount(2), is(0));
+        }
+    }
+
+    @Test
+    public void givenFirstPer_whenResultBuilderAddsErrorsIncrementally_shouldKeepFirstErrorPerKey() {
+        Result<DomainEntity> result = ResultBuilder.resultFor(DomainEntity.class, ErrorPolicy.firstPer(ErrorMessage::getMessage))
+                .addError("error1")
+                .addError("error2")
+                .addError("error1")
+                .validateAll(validate(NOT_SATISFIED, "error2"))
+                .build();
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(1).getMessage(), is("error2"));
+    }
+
+    private static class DomainEntity {
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ErrorsTest {
+
+    @Test
+    public void givenDeeplyNestedSequence_whenToList_shouldFlattenInInsertionOrder() {
+        Errors errors = null;
+        for (int i = 0; i < 100_000; i++) {
+            Errors child = Errors.append(null, new ErrorMessage("error" + i, i));
+            errors = i % 2 == 0 ? Errors.concat(errors, child) : Errors.append(errors, new ErrorMessage("error" + i, i));
+        }
+
+        List<ErrorMessage> list = errors.toList();
+
+        assertThat(list, hasSize(100_000));
+        assertThat(list.get(0).getActualValue(), is(0));
+        assertThat(list.get(99_999).getActualValue(), is(99_999));
+    }
+
+    @Test
+    public void givenEmptySequences_whenConcat_shouldReturnOtherSequence() {
+        Errors errors = Errors.append(null, new ErrorMessage("error", null));
+
+        assertThat(Errors.concat(null, errors), is(errors));
+        assertThat(Errors.concat(errors, null), is(errors));
+    }
+}
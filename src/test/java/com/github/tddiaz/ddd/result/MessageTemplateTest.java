@@ -0,0 +1,37 @@
+package com.github.tddiaz.ddd.result;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void givenSameTemplateRegisteredTwice_whenRegister_shouldReturnInternedInstance() {
+        MessageTemplate template = MessageTemplate.register(9001, "sku {0} is unknown");
+
+        assertThat(MessageTemplate.register(9001, "sku {0} is unknown"), sameInstance(template));
+        assertThat(MessageTemplate.forCode(9001), sameInstance(template));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCodeRegisteredForOtherTemplate_whenRegister_shouldThrowException() {
+        MessageTemplate.register(9002, "quantity is required");
+
+        MessageTemplate.register(9002, "quantity is missing");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenUnknownCode_whenForCode_shouldThrowException() {
+        MessageTemplate.forCode(9999);
+    }
+
+    @Test
+    public void givenPlaceholders_whenRender_shouldReplaceThemByArgumentIndex() {
+        MessageTemplate template = MessageTemplate.register(9003, "quantity {1} exceeds {0} for {json} {2}");
+
+        assertThat(template.render(new Object[] {10, 12}), is("quantity 12 exceeds 10 for {json} {2}"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.result.Result.ErrorMessage;
+import com.github.tddiaz.ddd.specification.Specification;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+import static com.github.tddiaz.ddd.result.Result.resultFor;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultBinaryCodecTest {
+
+    private static final Specification NOT_SATISFIED = () -> false;
+
+    @Test
+    public void givenErrorsWithTypedActualValues_whenRoundTrip_shouldDecodeSameErrorMessages() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(
+                        validate(NOT_SATISFIED, "quantity must be positive", -3),
+                        validate(NOT_SATISFIED, "id is unknown", Long.MAX_VALUE),
+                        validate(NOT_SATISFIED, "price is too high", 12.5d),
+                        validate(NOT_SATISFIED, "must be active", false),
+                        validate(NOT_SATISFIED, "sku is unknown", "SKU-\u00e9"),
+                        validate(NOT_SATISFIED, "amount is invalid", new BigDecimal("1.10")),
+                        validate(NOT_SATISFIED, "name is required"));
+
+        Result<DomainEntity> decoded = ResultBinaryCodec.decode(ByteBuffer.wrap(ResultBinaryCodec.encode(result)), DomainEntity.class);
+
+        assertTrue(decoded.hasErrors());
+        assertThat(decoded.getErrors(), hasSize(7));
+        assertThat(decoded.getErrors().get(0).getActualValue(), is(-3));
+        assertThat(decoded.getErrors().get(1).getActualValue(), is(Long.MAX_VALUE));
+        assertThat(decoded.getErrors().get(2).getActualValue(), is(12.5d));
+        assertThat(decoded.getErrors().get(3).getActualValue(), is(false));
+        assertThat(decoded.getErrors().get(4).getActualValue(), is("SKU-\u00e9"));
+        assertThat(decoded.getErrors().get(5).getActualValue(), is("1.10"));
+        assertThat(decoded.getErrors().get(6).getActualValue(), nullValue());
+        assertThat(decoded.toString(), is(result.toString()));
+    }
+
+    @Test
+    public void givenCodedErrors_whenRoundTrip_shouldDecodeCodeTemplateAndArguments() {
+        MessageTemplate template = MessageTemplate.register(3001, "quantity must be at most {0}");
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .ensure(NOT_SATISFIED, template, 12, 10);
+
+        Result<DomainEntity> decoded = ResultBinaryCodec.decode(ByteBuffer.wrap(ResultBinaryCodec.encode(result)), DomainEntity.class);
+
+        ErrorMessage error = decoded.getErrors().get(0);
+        assertThat(error.getCode(), is(3001));
+        assertThat(error.getMessage(), is("quantity must be at most 10"));
+        assertThat(error.getActualValue(), is(12));
+        assertThat(error.template(), sameInstance(template));
+        assertThat(decoded.validateAll(validate(NOT_SATISFIED, "skipped")).getErrors(), hasSize(1));
+    }
+
+    @Test
+    public void givenUnregisteredCode_whenDecode_shouldUseTransmittedTemplate() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put(new byte[] {1, 0, 1, 9, 'a', 'g', 'e', ' ', '{', '0', '}', '!', '!', 1, (byte) 0xA1, 0x1F, 0, 1, 2, 32, 0, 0});
+        buffer.flip();
+
+        ErrorMessage error = ResultBinaryCodec.decode(buffer, DomainEntity.class).getErrors().get(0);
+
+        assertThat(error.getCode(), is(4001));
+        assertThat(error.getMessage(), is("age 16!!"));
+        assertThat(buffer.remaining(), is(0));
+    }
+
+    @Test
+    public void givenRepeatedMessages_whenEncode_shouldStoreThemOnceAndShareDecodedStrings() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class);
+        for (int i = 0; i < 100; i++) {
+            result = result.validateAll(validate(NOT_SATISFIED, "sku is unknown", i));
+        }
+
+        byte[] encoded = ResultBinaryCodec.encode(result);
+        List<ErrorMessage> decoded = ResultBinaryCodec.decode(ByteBuffer.wrap(encoded), DomainEntity.class).getErrors();
+
+        assertThat(encoded.length, lessThan(result.toString().length() / 10));
+        assertThat(decoded.get(99).getMessage(), sameInstance(decoded.get(0).getMessage()));
+        assertThat(decoded.get(99).getActualValue(), is(99));
+    }
+
+    @Test
+    public void givenCountedErrors_whenRoundTrip_shouldKeepErrorCount() {
+        Result<DomainEntity> counted = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(), validate(NOT_SATISFIED, "error1"), validate(NOT_SATISFIED, "error2"));
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "error3"))
+                .combine(counted);
+
+        Result<DomainEntity> decoded = ResultBinaryCodec.decode(ByteBuffer.wrap(ResultBinaryCodec.encode(result)), DomainEntity.class);
+
+        assertTrue(decoded.hasErrors());
+        assertThat(decoded.getErrorCount(), is(3));
+        assertThat(decoded.getErrors(), hasSize(1));
+        assertThat(decoded.getErrors().get(0).getMessage(), is("error3"));
+    }
+
+    @Test
+    public void givenDirectBufferAndResultWithoutErrors_whenRoundTrip_shouldDecodeResultWithoutErrors() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        ResultBinaryCodec.encode(Result.as(new DomainEntity()), buffer);
+        buffer.flip();
+
+        assertFalse(ResultBinaryCodec.decode(buffer, DomainEntity.class).hasErrors());
+    }
+
+    @Test
+    public void givenBufferTooSmall_whenEncode_shouldThrowAndLeavePositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+
+        try {
+            ResultBinaryCodec.encode(resultFor(DomainEntity.class).validateAll(validate(NOT_SATISFIED, "error")), buffer);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertThat(buffer.position(), is(0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenUnsupportedVersion_whenDecode_shouldThrowException() {
+        ResultBinaryCodec.decode(ByteBuffer.wrap(new byte[] {2, 0, 0, 0}), DomainEntity.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCountLargerThanBuffer_whenDecode_shouldThrowExceptionWithoutAllocating() {
+        ResultBinaryCodec.decode(ByteBuffer.wrap(new byte[] {1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}), DomainEntity.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNegativeCount_whenDecode_shouldThrowException() {
+        ResultBinaryCodec.decode(ByteBuffer.wrap(new byte[] {1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01}), DomainEntity.class);
+    }
+
+    private static class DomainEntity {
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.tddiaz.ddd.result;
+
+import org.junit.Test;
+
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ResultBuilderTest {
+
+    @Test
+    public void givenEnsureFailed_whenValidateAll_shouldNotProceedProcessingFurtherValidations() {
+        Result<DomainEntity> result = ResultBuilder.resultFor(DomainEntity.class)
+                .ensure(() -> false, "ensure failed")
+                .validateAll(validate(() -> false, "validation failed"))
+                .build();
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("ensure failed"));
+    }
+
+    @Test
+    public void givenErrorsAddedInLoop_whenBuild_shouldReturnErrorsInInsertionOrder() {
+        ResultBuilder<DomainEntity> builder = ResultBuilder.resultFor(DomainEntity.class);
+        for (int i = 0; i < 3; i++) {
+            builder.addError("error" + i, i);
+        }
+        builder.combine(Result.resultFor(DomainEntity.class).validateAll(validate(() -> false, "combined")));
+
+        Result<DomainEntity> result = builder.build();
+
+        assertThat(result.getErrors(), hasSize(4));
+        assertThat(result.getErrors().get(0).getActualValue(), is(0));
+        assertThat(result.getErrors().get(3).getMessage(), is("combined"));
+    }
+
+    @Test
+    public void givenBuiltResult_whenBuilderKeepsAccumulating_shouldNotAffectBuiltResult() {
+        ResultBuilder<DomainEntity> builder = ResultBuilder.resultFor(DomainEntity.class).addError("first");
+        Result<DomainEntity> result = builder.build();
+
+        builder.addError("second");
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(builder.build().getErrors(), hasSize(2));
+    }
+
+    @Test
+    public void givenNoErrors_whenOnSuccessAndBuild_shouldReturnResultValue() {
+        Result<DomainEntity> result = ResultBuilder.resultFor(DomainEntity.class)
+                .ensure(() -> true, "ensure failed")
+                .validateAll(validate(() -> true, "validation failed"))
+                .onSuccess(DomainEntity::new)
+                .build();
+
+        assertFalse(result.hasErrors());
+        assertThat(result.get(), notNullValue());
+        assertTrue(ResultBuilder.resultFor(DomainEntity.class).addError("error").hasErrors());
+    }
+
+    private static class DomainEntity {
+    }
+}
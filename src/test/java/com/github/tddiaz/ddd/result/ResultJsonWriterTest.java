@@ -0,0 +1,120 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.specification.Specification;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+import static com.github.tddiaz.ddd.result.Result.resultFor;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ResultJsonWriterTest {
+
+    private static final Specification NOT_SATISFIED = () -> false;
+
+    @Test
+    public void givenQuotesAndControlCharacters_whenWrite_shouldEscapeThem() throws Exception {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "name \"Tr\" is\ttoo short\n", "C:\\temp\u0001"));
+
+        StringBuilder json = new StringBuilder();
+        ResultJsonWriter.write(result, json);
+
+        assertThat(json.toString(), is("{\"_class\": \"" + DomainEntity.class + "\", \"value\": \"null\", \"errors\": ["
+                + "{\"message\": \"name \\\"Tr\\\" is\\ttoo short\\n\", \"actualValue\": \"C:\\\\temp\\u0001\"}"
+                + "], \"ensureFailed\": false}"));
+        assertThat(result.toString(), is(json.toString()));
+    }
+
+    @Test
+    public void givenCodedError_whenWrite_shouldWriteCodeAndRenderedMessage() throws Exception {
+        MessageTemplate template = MessageTemplate.register(2001, "quantity must be at most {0} \"units\"");
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, template, 12, 10));
+
+        StringBuilder json = new StringBuilder();
+        ResultJsonWriter.write(result.getErrors().get(0), json);
+
+        assertThat(json.toString(), is("{\"code\": 2001, \"message\": \"quantity must be at most 10 \\\"units\\\"\", \"actualValue\": \"12\"}"));
+    }
+
+    @Test
+    public void givenCountedErrors_whenWrite_shouldWriteErrorCount() throws Exception {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(ErrorPolicy.countOnly(), validate(NOT_SATISFIED, "error1"), validate(NOT_SATISFIED, "error2"));
+
+        StringBuilder json = new StringBuilder();
+        ResultJsonWriter.write(result, json);
+
+        assertThat(json.toString(), is("{\"_class\": \"" + DomainEntity.class + "\", \"value\": \"null\", \"errors\": [], "
+                + "\"errorCount\": 2, \"ensureFailed\": false}"));
+    }
+
+    @Test
+    public void givenNonAsciiText_whenWriteToStreamAndBuffer_shouldEncodeUtf8() throws Exception {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(NOT_SATISFIED, "pr\u00e9nom invalide \u20ac \uD83D\uDE00", "\uD800"));
+        String expected = result.toString().replace('\uD800', '?');
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ResultJsonWriter.write(result, stream);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        ResultJsonWriter.write(result, buffer);
+        buffer.flip();
+
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8), is(expected));
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString(), is(expected));
+    }
+
+    @Test
+    public void givenResultLargerThanChunk_whenWriteToStream_shouldWriteEveryChunk() throws Exception {
+        Result<DomainEntity> result = resultFor(DomainEntity.class);
+        for (int i = 0; i < 1000; i++) {
+            result = result.validateAll(validate(NOT_SATISFIED, "error " + i, "\u00e9"));
+        }
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ResultJsonWriter.write(result, stream);
+
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8), is(result.toString()));
+    }
+
+    @Test
+    public void givenBufferTooSmall_whenWrite_shouldThrowAndLeavePositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 1);
+
+        try {
+            ResultJsonWriter.write(resultFor(DomainEntity.class), buffer);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertThat(buffer.position(), is(1));
+        }
+    }
+
+    @Test
+    public void givenActualValueSerializingResult_whenToString_shouldNotCorruptOuterOutput() {
+        Result<DomainEntity> inner = resultFor(DomainEntity.class).validateAll(validate(NOT_SATISFIED, "inner"));
+        Object actualValue = new Object() {
+            @Override
+            public String toString() {
+                return inner.toString();
+            }
+        };
+
+        Result<DomainEntity> outer = resultFor(DomainEntity.class).validateAll(validate(NOT_SATISFIED, "outer", actualValue));
+
+        assertThat(outer.getErrors().get(0).toString(),
+                is("{\"message\": \"outer\", \"actualValue\": \"" + inner.toString().replace("\"", "\\\"") + "\"}"));
+    }
+
+    private static class DomainEntity {
+    }
+}
@@ -1,22 +1,32 @@
 package com.github.tddiaz.ddd.result;
 
 import com.github.tddiaz.ddd.specification.Specification;
+import com.github.tddiaz.ddd.specification.TypedSpecification;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tddiaz.ddd.result.Result.ErrorMessage;
 import static com.github.tddiaz.ddd.result.Result.HasNoSuccessValueException;
 import static com.github.tddiaz.ddd.result.Result.Validation.validate;
 import static com.github.tddiaz.ddd.result.Result.as;
 import static com.github.tddiaz.ddd.result.Result.resultFor;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ResultTest {
 
@@ -31,6 +41,24 @@ public class ResultTest {
         assertNotNull(result.get());
     }
 
+    @Test(expected = HasNoSuccessValueException.class)
+    public void givenValueAndFailedEnsure_whenGet_shouldThrowError() {
+        as(new DomainEntity())
+                .ensure(() -> new FailedSpecification().isSatisfied(), "error")
+                .get();
+    }
+
+    @Test
+    public void givenSuccessAndFailure_whenToString_shouldDescribeVariant() {
+        Result<DomainEntity> failure = resultFor(DomainEntity.class)
+                .ensure(() -> new FailedSpecification().isSatisfied(), "error");
+
+        assertThat(failure.toString(), is("{\"_class\": \"" + DomainEntity.class + "\", \"value\": \"null\", "
+                + "\"errors\": [{\"message\": \"error\", \"actualValue\": \"null\"}], \"ensureFailed\": true}"));
+        assertThat(as("value").toString(), is("{\"_class\": \"" + String.class + "\", \"value\": \"value\", "
+                + "\"errors\": [], \"ensureFailed\": false}"));
+    }
+
     @Test(expected = HasNoSuccessValueException.class)
     public void givenClass_whenResultForAndGet_shouldThrowError() {
         resultFor(DomainEntity.class).get();
@@ -82,6 +110,56 @@ public class ResultTest {
                 hasProperty("actualValue", is("actualValue2")))));
     }
 
+    @Test
+    public void givenFixedNumberOfValidations_whenValidateAllAndHasFailures_shouldReturnErrorsInDeclarationOrder() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "error1"))
+                .validateAll(
+                        validate(() -> new SuccessSpecification().isSatisfied(), "error2"),
+                        validate(() -> new FailedSpecification().isSatisfied(), "error3"))
+                .validateAll(
+                        validate(() -> new FailedSpecification().isSatisfied(), "error4"),
+                        validate(() -> new SuccessSpecification().isSatisfied(), "error5"),
+                        validate(() -> new FailedSpecification().isSatisfied(), "error6", "actualValue6"));
+
+        assertThat(result.getErrors(), hasSize(4));
+        assertThat(result.getErrors().get(0).getMessage(), is("error1"));
+        assertThat(result.getErrors().get(1).getMessage(), is("error3"));
+        assertThat(result.getErrors().get(2).getMessage(), is("error4"));
+        assertThat(result.getErrors().get(3).getMessage(), is("error6"));
+        assertThat(result.getErrors().get(3).getActualValue(), is("actualValue6"));
+    }
+
+    @Test
+    public void givenValidations_whenValidateAllParallel_shouldReturnErrorsInDeclarationOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Result<DomainEntity> result = resultFor(DomainEntity.class)
+                    .validateAllParallel(executor,
+                            validate(() -> sleepAndFail(50), "error1"),
+                            validate(() -> new SuccessSpecification().isSatisfied(), "error2"),
+                            validate(() -> sleepAndFail(25), "error3"),
+                            validate(() -> new FailedSpecification().isSatisfied(), "error4"));
+
+            assertThat(result.getErrors(), hasSize(3));
+            assertThat(result.getErrors().get(0).getMessage(), is("error1"));
+            assertThat(result.getErrors().get(1).getMessage(), is("error3"));
+            assertThat(result.getErrors().get(2).getMessage(), is("error4"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenEnsureFailed_whenValidateAllParallel_shouldNotProceedProcessingFurtherValidations() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .ensure(() -> new FailedSpecification().isSatisfied(), "ensure failed")
+                .validateAllParallel(validate(() -> new FailedSpecification().isSatisfied(), "validation failed"));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("ensure failed"));
+    }
+
     @Test
     public void givenEnsureSpecificationAndValidations_whenEnsureFailed_shouldNotProceedProcessingFurtherValidations() {
         Result<DomainEntity> result = resultFor(DomainEntity.class)
@@ -110,6 +188,30 @@ public class ResultTest {
         assertThat(result.getErrors(), hasSize(2));
     }
 
+    @Test
+    public void givenTypedSpecifications_whenEnsureAndValidateAll_shouldUseCandidateAsActualValue() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .ensure(NotBlankSpecification.INSTANCE, "name", "ensure failed")
+                .validateAll(
+                        validate(NotBlankSpecification.INSTANCE, "", "name is blank"),
+                        validate(NotBlankSpecification.INSTANCE, "name", "name is blank"));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is blank"));
+        assertThat(result.getErrors().get(0).getActualValue(), is(""));
+    }
+
+    @Test
+    public void givenTypedSpecification_whenEnsureFailed_shouldNotProceedProcessingFurtherValidations() {
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .ensure(NotBlankSpecification.INSTANCE, " ", "ensure failed")
+                .validateAll(validate(NotBlankSpecification.INSTANCE, "", "name is blank"));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("ensure failed"));
+        assertThat(result.getErrors().get(0).getActualValue(), is(" "));
+    }
+
     @Test
     public void givenMultipleResults_whenCombine_shouldReturnConsolidatedResults() {
 
@@ -133,6 +235,45 @@ public class ResultTest {
 
     }
 
+    @Test
+    public void givenNestedResults_whenCombine_shouldKeepErrorsInCombinationOrder() {
+        Result<DomainEntity> line = resultFor(DomainEntity.class)
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "line"));
+        Result<DomainEntity> address = resultFor(DomainEntity.class)
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "address"));
+        Result<DomainEntity> order = resultFor(DomainEntity.class)
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "order"))
+                .combine(line.combine(address), resultFor(DomainEntity.class))
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "total"));
+
+        assertThat(order.getErrors(), hasSize(4));
+        assertThat(order.getErrors().get(0).getMessage(), is("order"));
+        assertThat(order.getErrors().get(1).getMessage(), is("line"));
+        assertThat(order.getErrors().get(2).getMessage(), is("address"));
+        assertThat(order.getErrors().get(3).getMessage(), is("total"));
+    }
+
+    @Test
+    public void givenResult_whenValidationFails_shouldReturnNewResultAndLeaveOriginalUnchanged() {
+        Result<DomainEntity> original = resultFor(DomainEntity.class);
+
+        Result<DomainEntity> passed = original.validateAll(validate(() -> new SuccessSpecification().isSatisfied(), "error"));
+        Result<DomainEntity> failed = original.validateAll(validate(() -> new FailedSpecification().isSatisfied(), "error"));
+
+        assertThat(passed, is(sameInstance(original)));
+        assertFalse(original.hasErrors());
+        assertThat(original.getErrors(), is(empty()));
+        assertThat(failed.getErrors(), hasSize(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givenResultWithErrors_whenModifyingErrors_shouldThrowError() {
+        resultFor(DomainEntity.class)
+                .validateAll(validate(() -> new FailedSpecification().isSatisfied(), "error"))
+                .getErrors()
+                .clear();
+    }
+
     @Test
     public void givenSuccessSpecification_whenOnSuccess_shouldReturnResultValue() {
 
@@ -146,6 +287,95 @@ public class ResultTest {
         assertThat(domainEntityResult.get(), notNullValue());
     }
 
+    @Test
+    public void givenSupplierValidations_whenValidateAll_shouldOnlyComputeMessageAndActualValueOnFailure() {
+        AtomicInteger computed = new AtomicInteger();
+        int quantity = 0;
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(
+                        validate(new SuccessSpecification(), () -> "never computed " + computed.incrementAndGet(), computed::incrementAndGet),
+                        validate(new FailedSpecification(), "quantity must be positive", () -> quantity),
+                        validate(new FailedSpecification(), () -> "limit is " + 10, null));
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(0).getActualValue(), is(0));
+        assertThat(result.getErrors().get(1).getMessage(), is("limit is 10"));
+        assertThat(result.getErrors().get(1).getActualValue(), nullValue());
+        assertThat(computed.get(), is(0));
+    }
+
+    @Test
+    public void givenSupplierEnsure_whenSatisfied_shouldNotComputeActualValue() {
+        AtomicInteger computed = new AtomicInteger();
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .ensure(new SuccessSpecification(), "error", computed::incrementAndGet)
+                .ensure(new FailedSpecification(), () -> "ensure failed", () -> 42L);
+
+        assertThat(computed.get(), is(0));
+        assertThat(result.getErrors().get(0).getMessage(), is("ensure failed"));
+        assertThat(result.getErrors().get(0).getActualValue(), is(42L));
+    }
+
+    @Test
+    public void givenCodedValidation_whenValidateAll_shouldRenderTemplateWhenMessageIsRead() {
+        MessageTemplate quantityTooHigh = MessageTemplate.register(1001, "quantity must be at most {0}");
+
+        Result<DomainEntity> result = resultFor(DomainEntity.class)
+                .validateAll(
+                        validate(new FailedSpecification(), quantityTooHigh, 12, 10),
+                        validate(new FailedSpecification(), "error", "actualValue"));
+
+        assertThat(result.getErrors().get(0).getCode(), is(1001));
+        assertThat(result.getErrors().get(0).getMessage(), is("quantity must be at most 10"));
+        assertThat(result.getErrors().get(0).getActualValue(), is(12));
+        assertThat(result.getErrors().get(1).getCode(), is(ErrorMessage.NO_CODE));
+    }
+
+    @Test
+    public void givenSuccess_whenFoldMapAndFlatMap_shouldApplySuccessFunctions() {
+        Result<String> success = as("Tristan");
+
+        assertThat(success.fold(errors -> "failure", value -> "hello " + value), is("hello Tristan"));
+        assertThat(success.getOrElse("other"), is("Tristan"));
+        assertThat(success.toOptional().get(), is("Tristan"));
+        assertThat(success.map(String::length).get(), is(7));
+        assertTrue(success.flatMap(value -> resultFor(Integer.class).validateAll(validate(new FailedSpecification(), "error"))).hasErrors());
+    }
+
+    @Test
+    public void givenFailure_whenFoldMapAndFlatMap_shouldNotThrowAndKeepErrors() {
+        Result<DomainEntity> failure = as(new DomainEntity()).validateAll(validate(new FailedSpecification(), "error"));
+
+        assertThat(failure.fold(errors -> errors.size(), value -> -1), is(1));
+        assertThat(failure.getOrElse(null), nullValue());
+        assertFalse(failure.toOptional().isPresent());
+        assertThat(failure.map(value -> "mapped").getErrors().get(0).getMessage(), is("error"));
+        assertThat(failure.flatMap(value -> as("mapped")), sameInstance((Object) failure));
+        assertFalse(resultFor(DomainEntity.class).toOptional().isPresent());
+    }
+
+    @Test
+    public void givenNoValue_whenGet_shouldThrowExceptionWithoutStackTrace() {
+        try {
+            resultFor(DomainEntity.class).get();
+            fail();
+        } catch (HasNoSuccessValueException e) {
+            assertThat(e.getMessage(), is("Result has no success value."));
+            assertThat(e.getStackTrace().length, is(0));
+        }
+    }
+
+    private static boolean sleepAndFail(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
     private static class DomainEntity {
     }
 
@@ -156,6 +386,15 @@ public class ResultTest {
         }
     }
 
+    private enum NotBlankSpecification implements TypedSpecification<String> {
+        INSTANCE;
+
+        @Override
+        public boolean isSatisfiedBy(String candidate) {
+            return candidate != null && !candidate.trim().isEmpty();
+        }
+    }
+
     private static class SuccessSpecification implements Specification {
         @Override
         public boolean isSatisfied() {
@@ -0,0 +1,197 @@
+package com.github.tddiaz.ddd.result;
+
+import com.github.tddiaz.ddd.specification.TypedSpecification;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ValidatorTest {
+
+    private static final Validator<DomainEntity> VALIDATOR = Validator.builder(DomainEntity.class)
+            .ensure(entity -> entity.name != null, "name is required")
+            .validate(entity -> entity.name.length() > 2, "name is too short", entity -> entity.name)
+            .validate(entity -> entity.age >= 18, "age is below 18", entity -> entity.age)
+            .build();
+
+    @Test
+    public void givenValidCandidate_whenApply_shouldReturnResultWithCandidateAsValue() {
+        DomainEntity entity = new DomainEntity("Tristan", 30);
+
+        Result<DomainEntity> result = VALIDATOR.apply(entity);
+
+        assertFalse(result.hasErrors());
+        assertThat(result.get(), sameInstance(entity));
+    }
+
+    @Test
+    public void givenEnsureRuleFails_whenApply_shouldNotProceedToValidationRules() {
+        Result<DomainEntity> result = VALIDATOR.apply(new DomainEntity(null, 1));
+
+        assertTrue(result.hasErrors());
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is required"));
+    }
+
+    @Test
+    public void givenValidationRulesFail_whenApply_shouldReturnEveryErrorInDeclarationOrder() {
+        Result<DomainEntity> result = VALIDATOR.apply(new DomainEntity("Tr", 1));
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is too short"));
+        assertThat(result.getErrors().get(0).getActualValue(), is("Tr"));
+        assertThat(result.getErrors().get(1).getMessage(), is("age is below 18"));
+        assertThat(result.getErrors().get(1).getActualValue(), is(1));
+    }
+
+    @Test
+    public void givenSameValidator_whenApplyToManyCandidates_shouldValidateEachIndependently() {
+        assertTrue(VALIDATOR.apply(new DomainEntity("Tr", 30)).hasErrors());
+        assertFalse(VALIDATOR.apply(new DomainEntity("Tristan", 30)).hasErrors());
+    }
+
+    @Test
+    public void givenExecutor_whenApply_shouldReturnErrorsInDeclarationOrder() {
+        Result<DomainEntity> result = VALIDATOR.apply(new DomainEntity("Tr", 1), ValidationExecutors.virtualThreads());
+
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is too short"));
+        assertThat(result.getErrors().get(1).getMessage(), is("age is below 18"));
+    }
+
+    @Test
+    public void givenExecutorAndEnsureRuleFails_whenApply_shouldNotStartValidationRules() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .ensure(entity -> entity.name != null, "name is required")
+                .validate(entity -> evaluations.incrementAndGet() > 0, "never evaluated")
+                .build();
+
+        Result<DomainEntity> result = validator.apply(new DomainEntity(null, 1), ValidationExecutors.virtualThreads());
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(evaluations.get(), is(0));
+    }
+
+    @Test
+    public void givenValidCandidateAndExecutor_whenApply_shouldReturnResultWithCandidateAsValue() {
+        DomainEntity entity = new DomainEntity("Tristan", 30);
+
+        assertThat(VALIDATOR.apply(entity, ValidationExecutors.virtualThreads()).get(), sameInstance(entity));
+    }
+
+    @Test
+    public void givenCostBasedOrdering_whenApply_shouldEvaluateCheapestEnsureRuleFirst() {
+        AtomicInteger lookups = new AtomicInteger();
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .ensure(((TypedSpecification<DomainEntity>) entity -> lookups.incrementAndGet() > 0).withCost(100), "not found")
+                .ensure(entity -> entity.name != null, "name is required")
+                .costBasedOrdering()
+                .build();
+
+        Result<DomainEntity> result = validator.apply(new DomainEntity(null, 1));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("name is required"));
+        assertThat(lookups.get(), is(0));
+    }
+
+    @Test
+    public void givenDeclarationOrdering_whenApply_shouldEvaluateEnsureRulesInDeclarationOrder() {
+        AtomicInteger lookups = new AtomicInteger();
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .ensure(((TypedSpecification<DomainEntity>) entity -> lookups.incrementAndGet() > 0).withCost(100), "not found")
+                .ensure(entity -> entity.name != null, "name is required")
+                .build();
+
+        validator.apply(new DomainEntity(null, 1));
+
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void givenAdaptiveOrdering_whenRuleOftenFails_shouldReplanItFirst() {
+        AtomicInteger lookups = new AtomicInteger();
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .ensure(entity -> {
+                    lookups.incrementAndGet();
+                    sleep();
+                    return true;
+                }, "not found")
+                .ensure(entity -> entity.age >= 18, "age is below 18")
+                .adaptiveOrdering(1, 10)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            validator.apply(new DomainEntity("Tristan", 1));
+        }
+        lookups.set(0);
+
+        for (int i = 0; i < 100; i++) {
+            Result<DomainEntity> result = validator.apply(new DomainEntity("Tristan", 1));
+            assertThat(result.getErrors().get(0).getMessage(), is("age is below 18"));
+        }
+
+        assertThat(lookups.get(), is(0));
+        assertFalse(validator.apply(new DomainEntity("Tristan", 30)).hasErrors());
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void givenCodedRule_whenApply_shouldRenderActualValueIntoTemplate() {
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .validate(entity -> entity.age >= 18, MessageTemplate.register(1002, "age {0} is below 18"), entity -> entity.age)
+                .build();
+
+        Result<DomainEntity> result = validator.apply(new DomainEntity("Tristan", 16));
+
+        assertThat(result.getErrors().get(0).getCode(), is(1002));
+        assertThat(result.getErrors().get(0).getMessage(), is("age 16 is below 18"));
+    }
+
+    @Test
+    public void givenAdaptiveOrderingAndTwoFailingRules_whenReplanned_shouldReportFirstFailureInPlannedOrder() {
+        Validator<DomainEntity> validator = Validator.builder(DomainEntity.class)
+                .ensure(entity -> {
+                    sleep();
+                    return entity.name != null;
+                }, "name is required")
+                .ensure(entity -> entity.age >= 18, "age is below 18")
+                .adaptiveOrdering(1, 10)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            validator.apply(new DomainEntity("Tristan", 1));
+        }
+
+        Result<DomainEntity> result = validator.apply(new DomainEntity(null, 1));
+
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getMessage(), is("age is below 18"));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class DomainEntity {
+
+        private final String name;
+        private final int age;
+
+        private DomainEntity(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.tddiaz.ddd.specification;
+
+import com.github.tddiaz.ddd.result.AsyncResult;
+import com.github.tddiaz.ddd.result.AsyncResult.AsyncValidation;
+import com.github.tddiaz.ddd.result.Result;
+import com.github.tddiaz.ddd.result.Result.Validation;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.github.tddiaz.ddd.result.AsyncResult.AsyncValidation.validateAsync;
+import static com.github.tddiaz.ddd.result.Result.Validation.validate;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchLoaderTest {
+
+    @Test
+    public void givenManyOrderLines_whenValidateAll_shouldLookUpEveryKeyInOneBulkCall() {
+        ProductRepository repository = new ProductRepository();
+        BatchLoader<String, String> products = BatchLoader.of(repository::findAllBySku).build();
+
+        Validation[] validations = IntStream.range(0, 500)
+                .mapToObj(i -> i == 42 ? "UNKNOWN" : "SKU-" + i)
+                .map(sku -> validate(products.specification(sku, Objects::nonNull), "unknown sku", sku))
+                .toArray(Validation[]::new);
+
+        Result<DomainEntity> result = Result.resultFor(DomainEntity.class).validateAll(validations);
+
+        assertThat(repository.lookups, hasSize(1));
+        assertThat(repository.lookups.get(0), is(500));
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getActualValue(), is("UNKNOWN"));
+    }
+
+    @Test
+    public void givenManyOrderLines_whenValidateAllAsync_shouldLookUpEveryKeyInOneBulkCall() {
+        ProductRepository repository = new ProductRepository();
+        BatchLoader<String, String> products = BatchLoader.<String, String>ofAsync(
+                skus -> CompletableFuture.supplyAsync(() -> repository.findAllBySku(skus))).build();
+
+        AsyncValidation[] validations = IntStream.range(0, 100)
+                .mapToObj(i -> validateAsync(products.asyncSpecification("SKU-" + i, Objects::nonNull), "unknown sku"))
+                .toArray(AsyncValidation[]::new);
+
+        Result<DomainEntity> result = AsyncResult.resultFor(DomainEntity.class)
+                .validateAllAsync(validations)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+
+        assertFalse(result.hasErrors());
+        assertThat(repository.lookups, contains(100));
+    }
+
+    @Test
+    public void givenMaxBatchSize_whenBatchIsFull_shouldDispatchRightAway() {
+        ProductRepository repository = new ProductRepository();
+        BatchLoader<String, String> products = BatchLoader.of(repository::findAllBySku).maxBatchSize(2).build();
+
+        CompletableFuture<String> first = products.load("SKU-1");
+        CompletableFuture<String> second = products.load("SKU-2");
+        CompletableFuture<String> third = products.load("SKU-3");
+
+        assertTrue(first.isDone() && second.isDone());
+        assertFalse(third.isDone());
+
+        products.dispatch();
+
+        assertThat(third.join(), is("SKU-3"));
+        assertThat(repository.lookups, contains(2, 1));
+    }
+
+    @Test
+    public void givenSameKeyLoadedTwice_whenDispatch_shouldLookItUpOnce() {
+        ProductRepository repository = new ProductRepository();
+        BatchLoader<String, String> products = BatchLoader.of(repository::findAllBySku).build();
+
+        Specification exists = products.specification("SKU-1", Objects::nonNull);
+        Specification missing = products.specification("SKU-1", Objects::isNull);
+
+        assertTrue(exists.isSatisfied());
+        assertFalse(missing.isSatisfied());
+        assertThat(repository.lookups, contains(1));
+    }
+
+    @Test
+    public void givenDispatchDelay_whenKeysEnqueued_shouldDispatchOnSchedule() throws Exception {
+        ProductRepository repository = new ProductRepository();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            BatchLoader<String, String> products = BatchLoader.of(repository::findAllBySku)
+                    .dispatchAfter(Duration.ofMillis(10), scheduler)
+                    .build();
+
+            CompletableFuture<String> first = products.load("SKU-1");
+            CompletableFuture<String> second = products.load("SKU-2");
+
+            assertThat(first.get(5, TimeUnit.SECONDS), is("SKU-1"));
+            assertThat(second.get(5, TimeUnit.SECONDS), is("SKU-2"));
+            assertThat(repository.lookups, contains(2));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenFailingBulkLookup_whenEvaluated_shouldRethrowForEveryPendingSpecification() {
+        BatchLoader<String, String> products = BatchLoader.<String, String>of(skus -> {
+            throw new IllegalStateException("repository unavailable");
+        }).build();
+
+        Specification first = products.specification("SKU-1", Objects::nonNull);
+        Specification second = products.specification("SKU-2", Objects::nonNull);
+
+        for (Specification specification : new Specification[] {first, second}) {
+            try {
+                specification.isSatisfied();
+                fail();
+            } catch (IllegalStateException e) {
+                assertThat(e.getMessage(), is("repository unavailable"));
+            }
+        }
+    }
+
+    @Test
+    public void givenBulkLookupReturnsNoMap_whenEvaluated_shouldTreatEveryKeyAsMissing() {
+        BatchLoader<String, String> products = BatchLoader.<String, String>of(skus -> null).build();
+
+        Specification first = products.specification("SKU-1", Objects::nonNull);
+        Specification second = products.specification("SKU-2", Objects::isNull);
+
+        assertFalse(first.isSatisfied());
+        assertTrue(second.isSatisfied());
+    }
+
+    @Test
+    public void givenBulkLookupThrowsError_whenEvaluated_shouldRethrowForEveryPendingSpecification() {
+        BatchLoader<String, String> products = BatchLoader.<String, String>of(skus -> {
+            throw new AssertionError("repository crashed");
+        }).build();
+
+        Specification first = products.specification("SKU-1", Objects::nonNull);
+        Specification second = products.specification("SKU-2", Objects::nonNull);
+
+        for (Specification specification : new Specification[] {first, second}) {
+            try {
+                specification.isSatisfied();
+                fail();
+            } catch (AssertionError e) {
+                assertThat(e.getMessage(), is("repository crashed"));
+            }
+        }
+    }
+
+    private static class ProductRepository {
+
+        private final List<Integer> lookups = new ArrayList<>();
+
+        private synchronized Map<String, String> findAllBySku(Set<String> skus) {
+            lookups.add(skus.size());
+
+            Map<String, String> products = new HashMap<>();
+            for (String sku : skus) {
+                if (sku.startsWith("SKU-")) {
+                    products.put(sku, sku);
+                }
+            }
+            return products;
+        }
+    }
+
+    private static class DomainEntity {
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.tddiaz.ddd.specification;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CachingSpecificationTest {
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private final TypedSpecification<String> notBlacklisted = candidate -> {
+        evaluations.incrementAndGet();
+        return !candidate.startsWith("XX");
+    };
+
+    @Test
+    public void givenSameKey_whenEvaluatedTwice_shouldEvaluateDecoratedSpecificationOnce() {
+        CachingSpecification<String> specification = CachingSpecification.of(notBlacklisted).build();
+
+        assertTrue(specification.isSatisfiedBy("PH"));
+        assertTrue(specification.isSatisfiedBy("PH"));
+        assertFalse(specification.isSatisfiedBy("XX"));
+        assertFalse(specification.isSatisfiedBy("XX"));
+
+        assertThat(evaluations.get(), is(2));
+        assertThat(specification.hitCount(), is(2L));
+        assertThat(specification.missCount(), is(2L));
+        assertThat(specification.hitRate(), is(0.5));
+    }
+
+    @Test
+    public void givenDerivedKey_whenEvaluated_shouldShareOutcomeAcrossCandidatesWithSameKey() {
+        CachingSpecification<String> specification = CachingSpecification.of(notBlacklisted)
+                .keyedBy(candidate -> candidate.substring(0, 2))
+                .build();
+
+        assertFalse(specification.isSatisfiedBy("XX-1"));
+        assertFalse(specification.isSatisfiedBy("XX-2"));
+
+        assertThat(evaluations.get(), is(1));
+    }
+
+    @Test
+    public void givenFullCache_whenEvaluatingNewKey_shouldEvictLeastRecentlyUsedKey() {
+        CachingSpecification<String> specification = CachingSpecification.of(notBlacklisted)
+                .maximumSize(2)
+                .build();
+
+        specification.isSatisfiedBy("A");
+        specification.isSatisfiedBy("B");
+        specification.isSatisfiedBy("A");
+        specification.isSatisfiedBy("C");
+
+        assertThat(specification.size(), is(2));
+        assertThat(specification.evictionCount(), is(1L));
+
+        specification.isSatisfiedBy("A");
+        assertThat(evaluations.get(), is(3));
+
+        specification.isSatisfiedBy("B");
+        assertThat(evaluations.get(), is(4));
+    }
+
+    @Test
+    public void givenExpireAfterWrite_whenEntryExpired_shouldEvaluateDecoratedSpecificationAgain() {
+        AtomicLong now = new AtomicLong(-Duration.ofMinutes(10).toNanos());
+        CachingSpecification<String> specification = CachingSpecification.of(notBlacklisted)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .ticker(now::get)
+                .build();
+
+        specification.isSatisfiedBy("PH");
+        now.addAndGet(Duration.ofMinutes(4).toNanos());
+        specification.isSatisfiedBy("PH");
+
+        assertThat(evaluations.get(), is(1));
+
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        specification.isSatisfiedBy("PH");
+
+        assertThat(evaluations.get(), is(2));
+    }
+}
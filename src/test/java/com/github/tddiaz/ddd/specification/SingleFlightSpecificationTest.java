@@ -0,0 +1,154 @@
+package com.github.tddiaz.ddd.specification;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightSpecificationTest {
+
+    @Test
+    public void givenConcurrentEvaluationsForSameKey_whenEvaluated_shouldCallRemoteServiceOnce() throws Exception {
+        ReferenceDataService service = new ReferenceDataService();
+        SingleFlightSpecification<String> specification = SingleFlightSpecification.of(service::exists).build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> outcomes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                outcomes.add(executor.submit(() -> specification.isSatisfiedBy("SKU-1")));
+            }
+
+            assertTrue(service.called.await(5, TimeUnit.SECONDS));
+            while (specification.coalescedCount() < 7) {
+                Thread.yield();
+            }
+            service.release.countDown();
+
+            for (Future<Boolean> outcome : outcomes) {
+                assertTrue(outcome.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(service.calls.get(), is(1));
+        assertThat(specification.evaluationCount(), is(1L));
+    }
+
+    @Test
+    public void givenFailingService_whenEvaluatedWithinFailureTtl_shouldRethrowWithoutCallingServiceAgain() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong now = new AtomicLong();
+        SingleFlightSpecification<String> specification = SingleFlightSpecification.<String>of(candidate -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("service unavailable");
+        })
+                .failureTtl(Duration.ofSeconds(1))
+                .ticker(now::get)
+                .build();
+
+        assertThrowsIllegalState(specification);
+        assertThrowsIllegalState(specification);
+        assertThat(calls.get(), is(1));
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThrowsIllegalState(specification);
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void givenNullCandidate_whenEvaluatedWithDefaultKey_shouldDelegateToSpecification() {
+        SingleFlightSpecification<String> specification = SingleFlightSpecification.<String>of(candidate -> candidate == null).build();
+
+        assertTrue(specification.isSatisfiedBy(null));
+        assertThat(specification.evaluationCount(), is(1L));
+    }
+
+    @Test
+    public void givenLeaderThrowsError_whenFollowerCoalesced_shouldRethrowErrorToFollower() throws Exception {
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightSpecification<String> specification = SingleFlightSpecification.<String>of(candidate -> {
+            called.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("service crashed");
+        }).build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> leader = executor.submit(() -> specification.isSatisfiedBy("SKU-1"));
+            assertTrue(called.await(5, TimeUnit.SECONDS));
+
+            Future<Boolean> follower = executor.submit(() -> specification.isSatisfiedBy("SKU-1"));
+            while (specification.coalescedCount() < 1) {
+                Thread.yield();
+            }
+            release.countDown();
+
+            assertThrowsAssertionError(leader);
+            assertThrowsAssertionError(follower);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertThrowsAssertionError(Future<Boolean> outcome) throws Exception {
+        try {
+            outcome.get(5, TimeUnit.SECONDS);
+            fail("expected AssertionError");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause().getMessage(), is("service crashed"));
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+
+    private static void assertThrowsIllegalState(SingleFlightSpecification<String> specification) {
+        try {
+            specification.isSatisfiedBy("SKU-1");
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("service unavailable"));
+        }
+    }
+
+    /**
+     * In-process stand-in for a remote reference-data service; blocks until released.
+     */
+    private static class ReferenceDataService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch called = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private boolean exists(String sku) {
+            calls.incrementAndGet();
+            called.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.tddiaz.ddd.specification;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SpecificationTest {
+
+    private static final Specification SATISFIED = () -> true;
+    private static final Specification NOT_SATISFIED = () -> false;
+
+    private static final TypedSpecification<String> NOT_EMPTY = candidate -> !candidate.isEmpty();
+    private static final TypedSpecification<String> UPPER_CASE = candidate -> candidate.equals(candidate.toUpperCase());
+
+    @Test
+    public void givenSpecifications_whenAnd_shouldBeSatisfiedOnlyWhenBothAreSatisfied() {
+        assertTrue(SATISFIED.and(SATISFIED).isSatisfied());
+        assertFalse(SATISFIED.and(NOT_SATISFIED).isSatisfied());
+        assertFalse(NOT_SATISFIED.and(SATISFIED).isSatisfied());
+    }
+
+    @Test
+    public void givenSpecifications_whenOr_shouldBeSatisfiedWhenEitherIsSatisfied() {
+        assertTrue(NOT_SATISFIED.or(SATISFIED).isSatisfied());
+        assertFalse(NOT_SATISFIED.or(NOT_SATISFIED).isSatisfied());
+    }
+
+    @Test
+    public void givenSpecification_whenNotTwice_shouldReturnOriginalSpecification() {
+        assertFalse(SATISFIED.not().isSatisfied());
+        assertThat(SATISFIED.not().not(), sameInstance(SATISFIED));
+        assertThat(NOT_EMPTY.not().not(), sameInstance(NOT_EMPTY));
+    }
+
+    @Test
+    public void givenNestedComposites_whenAllOf_shouldShortCircuitAtFirstFailure() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Specification counted = () -> evaluations.incrementAndGet() > 0;
+
+        Specification specification = Specification.allOf(
+                counted.and(counted),
+                NOT_SATISFIED.and(counted),
+                counted);
+
+        assertFalse(specification.isSatisfied());
+        assertThat(evaluations.get(), is(2));
+    }
+
+    @Test
+    public void givenNestedComposites_whenAnyOf_shouldShortCircuitAtFirstSuccess() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Specification counted = () -> evaluations.incrementAndGet() < 0;
+
+        Specification specification = Specification.anyOf(
+                counted.or(counted),
+                SATISFIED.or(counted),
+                counted);
+
+        assertTrue(specification.isSatisfied());
+        assertThat(evaluations.get(), is(2));
+    }
+
+    @Test
+    public void givenCostedSpecifications_whenComposed_shouldSumEstimatedCosts() {
+        TypedSpecification<String> lookup = NOT_EMPTY.withCost(50);
+
+        assertThat(NOT_EMPTY.estimatedCost(), is(TypedSpecification.DEFAULT_COST));
+        assertThat(lookup.estimatedCost(), is(50));
+        assertThat(lookup.withCost(10).estimatedCost(), is(10));
+        assertThat(lookup.and(UPPER_CASE).not().estimatedCost(), is(51));
+        assertTrue(lookup.isSatisfiedBy("a"));
+    }
+
+    @Test
+    public void givenTypedSpecifications_whenComposed_shouldEvaluateAgainstCandidate() {
+        TypedSpecification<String> specification = NOT_EMPTY.and(UPPER_CASE);
+
+        assertTrue(specification.isSatisfiedBy("ABC"));
+        assertFalse(specification.isSatisfiedBy("abc"));
+        assertFalse(specification.isSatisfiedBy(""));
+
+        assertTrue(TypedSpecification.anyOf(NOT_EMPTY.not(), UPPER_CASE).isSatisfiedBy(""));
+        assertFalse(TypedSpecification.allOf(NOT_EMPTY, UPPER_CASE.not()).isSatisfiedBy("ABC"));
+    }
+}